@@ -0,0 +1,367 @@
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop HTTP load generator for a running notes instance (JDK 21, no dependencies).
+ *
+ *   java bench/LoadBench.java --base-url http://localhost:8080 --concurrency 500 \
+ *        --duration 30 --paths /streams,/subjects/1/notes
+ *
+ * Logs in once, then each of --concurrency virtual-thread clients issues GETs
+ * round-robin over --paths for --duration seconds. Prints throughput and
+ * latency percentiles per path.
+ *
+ * With --mix, clients instead act like students and admins. Each iteration
+ * picks one step by weight:
+ *
+ *   login   POST /auth/login as one of --users students (student<n>@example.com)
+ *   browse  GET  /streams
+ *   list    GET  /subjects/{id}/notes for a random subject
+ *   signed  GET  /files/url?path= for a random note's object
+ *   upload  POST /subjects/{id}/notes with an --upload-kb PDF, as admin
+ *
+ *   java bench/LoadBench.java --mix login=1,browse=4,list=10,signed=4,upload=1 \
+ *        --concurrency 200 --duration 60 --warmup 10
+ *
+ * Subjects and files are discovered from GET /streams, so any seeded instance
+ * works (bench/loadtest.sh boots one on H2 with LoadTestSeeder).
+ */
+public class LoadBench {
+
+    private static final Pattern SUBJECT = Pattern.compile("\\{\"id\":(\\d+),\"name\":\"(?:[^\"\\\\]|\\\\.)*\",\"notes\":");
+    private static final Pattern FILE_URL = Pattern.compile("\"fileUrl\":\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = parse(args);
+        if (opts.containsKey("mix")) {
+            scenario(opts);
+            return;
+        }
+        String baseUrl = opts.getOrDefault("base-url", "http://localhost:8080");
+        String email = opts.getOrDefault("email", "admin@example.com");
+        String password = opts.getOrDefault("password", "1234");
+        int concurrency = Integer.parseInt(opts.getOrDefault("concurrency", "200"));
+        int duration = Integer.parseInt(opts.getOrDefault("duration", "30"));
+        List<String> paths = Arrays.asList(opts.getOrDefault("paths", "/streams").split(","));
+
+        HttpClient client = client();
+        String token = login(client, baseUrl, email, password);
+
+        Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+        paths.forEach(p -> recorders.put(p, new Recorder()));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(duration);
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < concurrency; c++) {
+                int offset = c;
+                clients.submit(() -> {
+                    int i = offset;
+                    while (System.nanoTime() < deadline) {
+                        String path = paths.get(i++ % paths.size());
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                            .header("Authorization", "Bearer " + token)
+                            .timeout(Duration.ofSeconds(60))
+                            .GET()
+                            .build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            recorders.get(path).record(System.nanoTime() - start, response.statusCode() < 400);
+                        } catch (Exception e) {
+                            recorders.get(path).record(System.nanoTime() - start, false);
+                        }
+                    }
+                });
+            }
+        }
+
+        System.out.printf("concurrency=%d duration=%ds%n", concurrency, duration);
+        printHeader("path");
+        for (String path : paths) {
+            recorders.get(path).print(path, duration);
+        }
+    }
+
+    // Weighted login/browse/list/signed/upload mix; see the class comment
+    static void scenario(Map<String, String> opts) throws Exception {
+        String baseUrl = opts.getOrDefault("base-url", "http://localhost:8080");
+        int concurrency = Integer.parseInt(opts.getOrDefault("concurrency", "200"));
+        int duration = Integer.parseInt(opts.getOrDefault("duration", "30"));
+        int warmup = Integer.parseInt(opts.getOrDefault("warmup", "0"));
+        int users = Integer.parseInt(opts.getOrDefault("users", "100"));
+        String password = opts.getOrDefault("password", "1234");
+        int uploadKb = Integer.parseInt(opts.getOrDefault("upload-kb", "256"));
+        int settle = Integer.parseInt(opts.getOrDefault("settle", "120"));
+
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : opts.get("mix").split(",")) {
+            String[] kv = entry.split("=");
+            weights.put(kv[0].trim(), Integer.parseInt(kv[1].trim()));
+        }
+        Step[] steps = Step.weighted(weights);
+
+        HttpClient client = client();
+        String adminToken = login(client, baseUrl,
+            opts.getOrDefault("admin-email", "admin@example.com"), opts.getOrDefault("admin-password", "1234"));
+
+        // Let the PDF pipeline finish with seeded notes so it doesn't compete with the measured load
+        if (settle > 0) {
+            waitForPipeline(client, baseUrl, adminToken, settle);
+        }
+
+        HttpResponse<String> catalog = client.send(get(baseUrl, "/streams", adminToken), HttpResponse.BodyHandlers.ofString());
+        List<Long> subjectIds = new ArrayList<>();
+        Matcher m = SUBJECT.matcher(catalog.body());
+        while (m.find()) subjectIds.add(Long.parseLong(m.group(1)));
+        List<String> objectPaths = new ArrayList<>();
+        m = FILE_URL.matcher(catalog.body());
+        while (m.find()) {
+            String path = objectPath(m.group(1));
+            if (path != null) objectPaths.add(path);
+        }
+        if (subjectIds.isEmpty()) {
+            throw new IllegalStateException("No subjects found at " + baseUrl + "/streams; seed the instance first");
+        }
+        System.out.printf("discovered %d subjects, %d files%n", subjectIds.size(), objectPaths.size());
+
+        Map<String, Recorder> recorders = new LinkedHashMap<>();
+        for (Step step : Step.values()) {
+            if (weights.getOrDefault(step.key, 0) > 0) recorders.put(step.label, new Recorder());
+        }
+        Recorder total = new Recorder();
+
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmup);
+        long deadline = measureFrom + TimeUnit.SECONDS.toNanos(duration);
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < concurrency; c++) {
+                String email = users > 0 ? "student" + (c % users + 1) + "@example.com" : "user@example.com";
+                clients.submit(() -> {
+                    String token;
+                    try {
+                        token = login(client, baseUrl, email, password);
+                    } catch (Exception e) {
+                        System.err.println("Client login failed for " + email + ": " + e.getMessage());
+                        return;
+                    }
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    long now;
+                    while ((now = System.nanoTime()) < deadline) {
+                        Step step = steps[random.nextInt(steps.length)];
+                        long subjectId = subjectIds.get(random.nextInt(subjectIds.size()));
+                        HttpRequest request = switch (step) {
+                            case LOGIN -> loginRequest(baseUrl, email, password);
+                            case BROWSE -> get(baseUrl, "/streams", token);
+                            case LIST -> get(baseUrl, "/subjects/" + subjectId + "/notes", token);
+                            case SIGNED -> objectPaths.isEmpty() ? get(baseUrl, "/streams", token)
+                                : get(baseUrl, "/files/url?path=" + URLEncoder.encode(
+                                    objectPaths.get(random.nextInt(objectPaths.size())), StandardCharsets.UTF_8), token);
+                            case UPLOAD -> upload(baseUrl, subjectId, adminToken, uploadKb);
+                        };
+                        long start = System.nanoTime();
+                        boolean ok;
+                        String body = null;
+                        try {
+                            if (step == Step.LOGIN) {
+                                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                                ok = response.statusCode() == 200;
+                                body = response.body();
+                            } else {
+                                ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+                            }
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        long elapsed = System.nanoTime() - start;
+                        if (now >= measureFrom) {
+                            recorders.get(step.label).record(elapsed, ok);
+                            total.record(elapsed, ok);
+                        }
+                        if (ok && body != null) {
+                            Matcher t = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"").matcher(body);
+                            if (t.find()) token = t.group(1);
+                        }
+                    }
+                });
+            }
+        }
+
+        System.out.printf("concurrency=%d duration=%ds warmup=%ds mix=%s%n", concurrency, duration, warmup, opts.get("mix"));
+        printHeader("endpoint");
+        recorders.forEach((label, recorder) -> recorder.print(label, duration));
+        total.print("total", duration);
+    }
+
+    enum Step {
+        LOGIN("login", "POST /auth/login"),
+        BROWSE("browse", "GET /streams"),
+        LIST("list", "GET /subjects/{id}/notes"),
+        SIGNED("signed", "GET /files/url?path="),
+        UPLOAD("upload", "POST /subjects/{id}/notes");
+
+        final String key;
+        final String label;
+
+        Step(String key, String label) {
+            this.key = key;
+            this.label = label;
+        }
+
+        // One slot per unit of weight, so a uniform pick follows the mix
+        static Step[] weighted(Map<String, Integer> weights) {
+            List<Step> slots = new ArrayList<>();
+            for (Map.Entry<String, Integer> w : weights.entrySet()) {
+                Step step = Arrays.stream(values()).filter(s -> s.key.equals(w.getKey())).findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown step: " + w.getKey()));
+                for (int i = 0; i < w.getValue(); i++) slots.add(step);
+            }
+            if (slots.isEmpty()) throw new IllegalArgumentException("--mix has no positive weights");
+            return slots.toArray(Step[]::new);
+        }
+    }
+
+    static HttpClient client() {
+        return HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    }
+
+    static String login(HttpClient client, String baseUrl, String email, String password) throws Exception {
+        HttpResponse<String> response = client.send(loginRequest(baseUrl, email, password), HttpResponse.BodyHandlers.ofString());
+        Matcher m = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"").matcher(response.body());
+        if (response.statusCode() != 200 || !m.find()) {
+            throw new IllegalStateException("Login failed: " + response.statusCode() + " " + response.body());
+        }
+        return m.group(1);
+    }
+
+    static HttpRequest loginRequest(String baseUrl, String email, String password) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+            .header("Content-Type", "application/json")
+            .timeout(Duration.ofSeconds(60))
+            .POST(HttpRequest.BodyPublishers.ofString(
+                "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"))
+            .build();
+    }
+
+    static HttpRequest get(String baseUrl, String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .header("Authorization", "Bearer " + token)
+            .timeout(Duration.ofSeconds(60))
+            .GET()
+            .build();
+    }
+
+    // Multipart note upload; random padding makes every file a new blob, so storage is written each time
+    static HttpRequest upload(String baseUrl, long subjectId, String token, int kb) {
+        String boundary = "----loadbench" + Long.toHexString(ThreadLocalRandom.current().nextLong());
+        ByteArrayOutputStream body = new ByteArrayOutputStream(kb * 1024 + 1024);
+        body.writeBytes(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"title\"\r\n\r\n"
+            + "Load test upload\r\n--" + boundary + "\r\n"
+            + "Content-Disposition: form-data; name=\"file\"; filename=\"load-test.pdf\"\r\n"
+            + "Content-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        body.writeBytes(pdf(kb));
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/subjects/" + subjectId + "/notes"))
+            .header("Authorization", "Bearer " + token)
+            .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+            .timeout(Duration.ofSeconds(120))
+            .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+            .build();
+    }
+
+    // Blank one-page PDF padded with comment lines up to roughly kb kilobytes
+    static byte[] pdf(int kb) {
+        StringBuilder pdf = new StringBuilder(kb * 1024 + 512)
+            .append("%PDF-1.4\n")
+            .append("1 0 obj << /Type /Catalog /Pages 2 0 R >> endobj\n")
+            .append("2 0 obj << /Type /Pages /Kids [3 0 R] /Count 1 >> endobj\n")
+            .append("3 0 obj << /Type /Page /Parent 2 0 R /MediaBox [0 0 612 792] >> endobj\n");
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (pdf.length() < kb * 1024) {
+            pdf.append('%').append(Long.toHexString(random.nextLong())).append(Long.toHexString(random.nextLong())).append('\n');
+        }
+        return pdf.append("trailer << /Root 1 0 R >>\n%%EOF\n").toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    // Object path behind a note's file URL (local/memory download URL or public GCS URL)
+    static String objectPath(String fileUrl) {
+        int query = fileUrl.indexOf("path=");
+        if (query >= 0) {
+            return URLDecoder.decode(fileUrl.substring(query + "path=".length()), StandardCharsets.UTF_8);
+        }
+        Matcher gcs = Pattern.compile("^https://storage\\.googleapis\\.com/[^/]+/(.+)$").matcher(fileUrl);
+        return gcs.find() ? URLDecoder.decode(gcs.group(1), StandardCharsets.UTF_8) : null;
+    }
+
+    static void waitForPipeline(HttpClient client, String baseUrl, String adminToken, int seconds) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        Pattern busy = Pattern.compile("\"(queued|active)\":([1-9]\\d*)");
+        while (System.nanoTime() < deadline) {
+            HttpResponse<String> stats = client.send(get(baseUrl, "/stats/pipeline", adminToken), HttpResponse.BodyHandlers.ofString());
+            if (stats.statusCode() != 200 || !busy.matcher(stats.body()).find()) {
+                return;
+            }
+            Thread.sleep(1000);
+        }
+        System.err.println("Pipeline still busy after " + seconds + "s; starting anyway");
+    }
+
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> opts = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            opts.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        return opts;
+    }
+
+    static void printHeader(String first) {
+        System.out.printf("%-40s %10s %8s %9s %9s %9s %9s %9s%n",
+            first, "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+    }
+
+    static final class Recorder {
+        private final List<Long> nanos = new ArrayList<>();
+        private final AtomicLong errors = new AtomicLong();
+
+        synchronized void record(long elapsed, boolean ok) {
+            nanos.add(elapsed);
+            if (!ok) errors.incrementAndGet();
+        }
+
+        synchronized void print(String path, int seconds) {
+            long[] sorted = nanos.stream().mapToLong(Long::longValue).sorted().toArray();
+            System.out.printf("%-40s %10.1f %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                path, sorted.length / (double) seconds, errors.get(),
+                pct(sorted, 0.50), pct(sorted, 0.90), pct(sorted, 0.99), pct(sorted, 0.999),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+        }
+
+        private static double pct(long[] sorted, double p) {
+            if (sorted.length == 0) return 0;
+            return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+#!/usr/bin/env bash
+# Runs LoadBench against the app in platform-thread mode and then in the
+# "virtual" profile, with identical load. Needs the usual database/GCS config.
+#
+#   bench/compare-thread-modes.sh [concurrency] [duration-seconds] [paths]
+set -euo pipefail
+
+CONCURRENCY=${1:-1000}
+DURATION=${2:-30}
+PATHS=${3:-/streams}
+PORT=${PORT:-8080}
+
+cd "$(dirname "$0")/.."
+./mvnw -q -DskipTests package
+JAR=$(ls target/notes-*.jar | grep -v plain | head -1)
+
+run_mode() {
+    local label=$1; shift
+    java -jar "$JAR" --server.port="$PORT" "$@" > "target/bench-$label.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null || true" EXIT
+    for _ in $(seq 1 120); do
+        curl -sf "http://localhost:$PORT/index.html" > /dev/null && break
+        sleep 1
+    done
+    echo "== $label =="
+    java bench/LoadBench.java --base-url "http://localhost:$PORT" \
+        --concurrency "$CONCURRENCY" --duration "$DURATION" --paths "$PATHS"
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+run_mode platform
+run_mode virtual --spring.profiles.active=virtual
@@ -0,0 +1,81 @@
+package com.app.notes.config;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.app.notes.model.SigningKey;
+import com.app.notes.repository.SigningKeyRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Token signing and verification cost, as paid on login and on every
+ * JwtFilter cache miss, for the shared-secret (HS256) and key-pair (ES256)
+ * modes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBench {
+
+    // Fixed key so runs are comparable; never used outside benchmarks
+    static final String SECRET = "bm90ZXMtam1oLWJlbmNobWFyay1zZWNyZXQtbm90LWZvci1wcm9k";
+
+    @Param({"HS256", "ES256"})
+    public String algorithm;
+
+    private JwtUtil jwt;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwt = jwtUtil(algorithm, SECRET);
+        token = jwt.generate("user@example.com", "USER");
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwt.generate("user@example.com", "USER");
+    }
+
+    @Benchmark
+    public Claims validate() {
+        return jwt.validate(token);
+    }
+
+    // JwtUtil in the given mode, with the secret in HS256 mode only; ES256 keys are generated into an
+    // in-memory key table, fresh on every call
+    static JwtUtil jwtUtil(String algorithm, String secret) {
+        List<SigningKey> rows = new ArrayList<>();
+        SigningKeyRepository repository = (SigningKeyRepository) Proxy.newProxyInstance(
+            SigningKeyRepository.class.getClassLoader(), new Class<?>[] {SigningKeyRepository.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "findNewerThan" -> List.copyOf(rows);
+                case "saveAndFlush" -> {
+                    rows.add(0, (SigningKey) args[0]);
+                    yield args[0];
+                }
+                case "deleteOlderThan" -> 0;
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+        JwtKeyRing keyRing = new JwtKeyRing(repository, new ObjectMapper(), algorithm, "", 24, 0, 604800000);
+        if (keyRing.isEnabled()) {
+            keyRing.reload();
+        }
+        return new JwtUtil(keyRing.isEnabled() ? "" : secret, 1800000, 604800000, "", keyRing);
+    }
+}
@@ -0,0 +1,120 @@
+package com.app.notes.config;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.app.notes.repository.TokenRevocationRepository;
+import com.app.notes.service.TokenDenylist;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+/**
+ * JwtFilter end to end on an authenticated GET: header parsing, token digest,
+ * cache lookup or signature check, and setting the security context.
+ *
+ * {@code cached} is the steady state for a returning client. {@code verified}
+ * alternates two tokens through a one-entry cache, so every call checks the
+ * signature. {@code rejected} is a token signed with another key, and
+ * {@code revoked} a valid token found among 10,000 revoked ones; every
+ * call, cached or not, also pays the denylist check. Both signing modes are
+ * measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtFilterBench {
+
+    private static final FilterChain CHAIN = (req, res) -> {};
+
+    @Param({"HS256", "ES256"})
+    public String algorithm;
+
+    private JwtFilter cachingFilter;
+    private JwtFilter verifyingFilter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private String[] tokens;
+    private String forged;
+    private String revoked;
+    private int next;
+
+    @Setup
+    public void setup() {
+        JwtUtil jwt = JwtBench.jwtUtil(algorithm, JwtBench.SECRET);
+        TokenRevocationRepository repository = (TokenRevocationRepository) Proxy.newProxyInstance(
+            TokenRevocationRepository.class.getClassLoader(), new Class<?>[] {TokenRevocationRepository.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "save", "saveAndFlush" -> args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+        TokenDenylist denylist = new TokenDenylist(repository, new SimpleMeterRegistry(), 0, 0);
+        long expiresAt = System.currentTimeMillis() + 1800000;
+        for (int i = 0; i < 10000; i++) {
+            denylist.revoke(UUID.randomUUID().toString(), "user" + i + "@example.com", expiresAt - i * 1000L);
+        }
+        cachingFilter = new JwtFilter(jwt, denylist, 10000, new SimpleMeterRegistry());
+        verifyingFilter = new JwtFilter(jwt, denylist, 1, new SimpleMeterRegistry());
+        tokens = new String[] {
+            "Bearer " + jwt.generate("user@example.com", "USER"),
+            "Bearer " + jwt.generate("admin@example.com", "ADMIN")
+        };
+        // Same algorithm and (for ES256) the same kid, but another key: the signature check fails
+        forged = "Bearer " + JwtBench.jwtUtil(algorithm, "b3RoZXIta2V5LWZvci1yZWplY3RlZC10b2tlbnMtaW4tam1o")
+            .generate("user@example.com", "ADMIN");
+        revoked = "Bearer " + jwt.generate("user@example.com", "USER");
+        Claims claims = jwt.validate(revoked.substring("Bearer ".length()));
+        denylist.revoke(claims.getId(), claims.getSubject(), claims.getExpiration().getTime());
+        request = new MockHttpServletRequest("GET", "/streams");
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Object cached() throws ServletException, IOException {
+        return filter(cachingFilter, tokens[0]);
+    }
+
+    @Benchmark
+    public Object verified() throws ServletException, IOException {
+        return filter(verifyingFilter, tokens[next++ & 1]);
+    }
+
+    @Benchmark
+    public Object rejected() throws ServletException, IOException {
+        return filter(cachingFilter, forged);
+    }
+
+    @Benchmark
+    public Object revoked() throws ServletException, IOException {
+        return filter(cachingFilter, revoked);
+    }
+
+    private Object filter(JwtFilter filter, String header) throws ServletException, IOException {
+        request.addHeader("Authorization", header);
+        try {
+            filter.doFilter(request, response, CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            request.removeHeader("Authorization");
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
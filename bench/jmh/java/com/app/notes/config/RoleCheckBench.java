@@ -0,0 +1,107 @@
+package com.app.notes.config;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+/**
+ * The admin check on a write endpoint, the way controllers used to do it and
+ * the way it is done now.
+ *
+ * {@code inline} is the old per-request
+ * {@code getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN"))}.
+ * {@code spring} is Spring Security's own {@code hasRole("ADMIN")} manager.
+ * {@code urlRule} and {@code requiresRole} are {@link RoleAuthorities#require}
+ * and {@link RoleAuthorizationManager} against the shared authorities JwtFilter
+ * hands out. {@code requiresRoleDenied} is a USER hitting an admin method.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RoleCheckBench {
+
+    public static class Controller {
+        @RequiresRole("ADMIN")
+        public void create() {}
+    }
+
+    private Authentication admin;
+    private Authentication user;
+    private AuthorizationManager<RequestAuthorizationContext> spring;
+    private AuthorizationManager<RequestAuthorizationContext> urlRule;
+    private RoleAuthorizationManager methodManager;
+    private MethodInvocation invocation;
+    private RequestAuthorizationContext context;
+
+    @Setup
+    public void setup() throws Exception {
+        admin = new UsernamePasswordAuthenticationToken("admin@test.com", null, RoleAuthorities.forRole("ADMIN"));
+        user = new UsernamePasswordAuthenticationToken("user@test.com", null, RoleAuthorities.forRole("USER"));
+        spring = AuthorityAuthorizationManager.hasRole("ADMIN");
+        urlRule = RoleAuthorities.require("ADMIN");
+        methodManager = new RoleAuthorizationManager();
+        context = new RequestAuthorizationContext(null);
+
+        // Capture a real invocation of the annotated method, as the interceptor would see it
+        Method create = Controller.class.getMethod("create");
+        MethodInvocation[] captured = new MethodInvocation[1];
+        ProxyFactory factory = new ProxyFactory(new Controller());
+        factory.addAdvice((org.aopalliance.intercept.MethodInterceptor) mi -> {
+            captured[0] = mi;
+            return null;
+        });
+        ((Controller) factory.getProxy()).create();
+        invocation = captured[0];
+        if (!invocation.getMethod().equals(create) || !methodManager.check(() -> admin, invocation).isGranted()) {
+            throw new IllegalStateException("@RequiresRole(\"ADMIN\") did not grant an admin");
+        }
+        if (methodManager.check(() -> user, invocation).isGranted()) {
+            throw new IllegalStateException("@RequiresRole(\"ADMIN\") granted a user");
+        }
+        if (!List.copyOf(admin.getAuthorities()).equals(List.of(RoleAuthorities.ADMIN))) {
+            throw new IllegalStateException("Expected the shared ADMIN authority");
+        }
+    }
+
+    @Benchmark
+    public boolean inline() {
+        return admin.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN"));
+    }
+
+    @Benchmark
+    public AuthorizationDecision spring() {
+        return spring.check(() -> admin, context);
+    }
+
+    @Benchmark
+    public AuthorizationDecision urlRule() {
+        return urlRule.check(() -> admin, context);
+    }
+
+    @Benchmark
+    public AuthorizationDecision requiresRole() {
+        return methodManager.check(() -> admin, invocation);
+    }
+
+    @Benchmark
+    public AuthorizationDecision requiresRoleDenied() {
+        return methodManager.check(() -> user, invocation);
+    }
+}
@@ -0,0 +1,90 @@
+package com.app.notes.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.app.notes.model.Note;
+import com.app.notes.model.SampleHierarchy;
+import com.app.notes.model.Semester;
+import com.app.notes.model.Stream;
+import com.app.notes.model.Subject;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Response serialization with the same Jackson setup Spring Boot applies:
+ * the Stream entity tree, the catalog read model built by CatalogService,
+ * and a page of NoteResponse.
+ *
+ * 4 streams x 8 semesters x 6 subjects x 10 notes (1920 notes).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonBench {
+
+    private ObjectMapper mapper;
+    private List<Stream> streams;
+    private List<CatalogStream> catalog;
+    private List<NoteResponse> notePage;
+
+    @Setup
+    public void setup() {
+        mapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        streams = SampleHierarchy.build(8, 6, 10);
+        catalog = toCatalog(streams);
+        notePage = new ArrayList<>();
+        for (Note note : SampleHierarchy.notes(streams).subList(0, 20)) {
+            notePage.add(new NoteResponse(note.getId(), note.getTitle(), note.getFileUrl(),
+                note.getSubject().getId(), note.getSubject().getName(), note.getCreatedAt()));
+        }
+    }
+
+    @Benchmark
+    public byte[] streamTree() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(streams);
+    }
+
+    @Benchmark
+    public byte[] catalogTree() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(catalog);
+    }
+
+    @Benchmark
+    public byte[] notePage() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(notePage);
+    }
+
+    private static List<CatalogStream> toCatalog(List<Stream> streams) {
+        List<CatalogStream> result = new ArrayList<>();
+        for (Stream stream : streams) {
+            List<CatalogSemester> semesters = new ArrayList<>();
+            for (Semester semester : stream.getSemesters()) {
+                List<CatalogSubject> subjects = new ArrayList<>();
+                for (Subject subject : semester.getSubjects()) {
+                    List<CatalogNote> notes = new ArrayList<>();
+                    for (Note note : subject.getNotes()) {
+                        notes.add(new CatalogNote(note.getId(), note.getTitle(), note.getFileUrl()));
+                    }
+                    subjects.add(new CatalogSubject(subject.getId(), subject.getName(), List.copyOf(notes)));
+                }
+                semesters.add(new CatalogSemester(semester.getId(), semester.getNumber(), List.copyOf(subjects)));
+            }
+            result.add(new CatalogStream(stream.getId(), stream.getName(), List.copyOf(semesters)));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,59 @@
+package com.app.notes.model;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-memory Stream -> Semester -> Subject -> Note tree with realistic names,
+ * ids and URLs, built without a database.
+ */
+public final class SampleHierarchy {
+
+    private static final String[] STREAMS = {"CSE", "ECE", "MECH", "CIVIL"};
+
+    private SampleHierarchy() {}
+
+    public static List<Stream> build(int semestersPerStream, int subjectsPerSemester, int notesPerSubject) {
+        List<Stream> streams = new ArrayList<>();
+        long semesterId = 0, subjectId = 0, noteId = 0;
+        Instant createdAt = Instant.parse("2024-01-15T10:00:00Z");
+        for (int s = 0; s < STREAMS.length; s++) {
+            Stream stream = new Stream(STREAMS[s]);
+            stream.setId((long) s + 1);
+            streams.add(stream);
+            for (int sem = 1; sem <= semestersPerStream; sem++) {
+                Semester semester = new Semester(sem, stream);
+                semester.setId(++semesterId);
+                stream.getSemesters().add(semester);
+                for (int sub = 1; sub <= subjectsPerSemester; sub++) {
+                    Subject subject = new Subject("Data Structures " + sub, semester);
+                    subject.setId(++subjectId);
+                    semester.getSubjects().add(subject);
+                    for (int n = 1; n <= notesPerSubject; n++) {
+                        String path = stream.getName() + "/" + sem + "/" + subject.getName() + "/lecture " + n + ".pdf";
+                        Note note = new Note("Lecture " + n, "https://storage.googleapis.com/notes-pdfs/"
+                            + path.replace("/", "%2F").replace(" ", "%20"), subject);
+                        note.setId(String.format("00000000-0000-4000-8000-%012d", ++noteId));
+                        note.setFilePath(path);
+                        note.setCreatedAt(createdAt.plusSeconds(noteId));
+                        subject.getNotes().add(note);
+                    }
+                }
+            }
+        }
+        return streams;
+    }
+
+    public static List<Note> notes(List<Stream> streams) {
+        List<Note> notes = new ArrayList<>();
+        for (Stream stream : streams) {
+            for (Semester semester : stream.getSemesters()) {
+                for (Subject subject : semester.getSubjects()) {
+                    notes.addAll(subject.getNotes());
+                }
+            }
+        }
+        return notes;
+    }
+}
@@ -0,0 +1,61 @@
+package com.app.notes.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.app.notes.dto.NoteResponse;
+import com.app.notes.model.Note;
+import com.app.notes.model.SampleHierarchy;
+
+/**
+ * Note entity to NoteResponse mapping, for a single note and for a page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NoteMappingBench {
+
+    @State(Scope.Benchmark)
+    public static class Page {
+        @Param({"20", "200"})
+        public int pageSize;
+
+        List<Note> notes;
+
+        @Setup
+        public void setup() {
+            notes = SampleHierarchy.notes(SampleHierarchy.build(8, 6, 10)).subList(0, pageSize);
+        }
+    }
+
+    private Note note;
+
+    @Setup
+    public void setup() {
+        note = SampleHierarchy.notes(SampleHierarchy.build(1, 1, 1)).get(0);
+    }
+
+    @Benchmark
+    public NoteResponse single() {
+        return NoteService.toResponse(note);
+    }
+
+    @Benchmark
+    public List<NoteResponse> page(Page page) {
+        List<NoteResponse> responses = new ArrayList<>(page.notes.size());
+        for (Note n : page.notes) {
+            responses.add(NoteService.toResponse(n));
+        }
+        return responses;
+    }
+}
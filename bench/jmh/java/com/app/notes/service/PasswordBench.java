@@ -0,0 +1,94 @@
+package com.app.notes.service;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import com.app.notes.model.User;
+import com.app.notes.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Cost of one BCrypt verification, and login throughput through AuthService
+ * (throttle, credential cache, password pool, verification) with the pool
+ * sized like production. {@code unknownEmail} is a login the known-user
+ * filter rejects without hashing.
+ * Use it to pick app.password.bcrypt-strength and app.password.threads.
+ */
+@State(Scope.Benchmark)
+public class PasswordBench {
+
+    @Param({"10", "12"})
+    public int strength;
+
+    @Param({"2"})
+    public int threads;
+
+    private PasswordService passwords;
+    private AuthService auth;
+    private String hash;
+
+    @Setup
+    public void setup() {
+        passwords = new PasswordService(strength, threads, 10000);
+        hash = passwords.hash("correct horse").join();
+        User user = new User("Student", "student1@example.com", hash, "USER");
+        UserRepository users = (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+            new Class<?>[] {UserRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                case "findByEmail" -> user.getEmail().equals(args[0]) ? Optional.of(user) : Optional.empty();
+                case "count" -> 1L;
+                case "findAllEmails" -> List.of(user.getEmail());
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+        UserCredentialCache userCache = new UserCredentialCache(users, new SimpleMeterRegistry(), 300, 10000, 100000, 0.01, 0, 0);
+        userCache.rebuild();
+        // Throttle wide open: this measures hashing capacity, not the limits.
+        // No invalidation bus: the stored hash is already at the benchmarked cost, so login never rehashes.
+        // Login only asks the denylist about bans, which never reaches its repository
+        auth = new AuthService(users, userCache, passwords, new LoginThrottle(1e9, 1e12, 1e9, 1e12, 100000), null,
+            new TokenDenylist(null, new SimpleMeterRegistry(), 0, 0));
+    }
+
+    @TearDown
+    public void tearDown() {
+        passwords.shutdown();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public boolean verify() {
+        return passwords.verify("correct horse", hash).join();
+    }
+
+    // More callers than pool threads, as under a login burst
+    @Benchmark
+    @Threads(8)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public String login() {
+        return auth.login("student1@example.com", "correct horse", "10.0.0.1").join();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String unknownEmail() {
+        return auth.login("nobody@example.com", "guess", "10.0.0.1").join();
+    }
+}
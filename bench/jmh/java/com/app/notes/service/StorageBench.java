@@ -0,0 +1,76 @@
+package com.app.notes.service;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.google.cloud.storage.Storage;
+
+/**
+ * Storage path and URL handling on the request path, against the in-memory
+ * backend so nothing touches disk or the network.
+ *
+ * {@code upload} is StorageService.uploadFile with a small PDF-sized body;
+ * {@code gcsUrl} and {@code gcsObjectPath} run the GCS backend's URL encoding
+ * and decoding without a client.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StorageBench {
+
+    private static final String PATH = "notes/CSE/3/Data Structures/lecture 1 (final) - trees & graphs.pdf";
+
+    private StorageService storage;
+    private GcsStorageBackend gcs;
+    private MockMultipartFile file;
+    private String memoryUrl;
+    private String gcsUrl;
+
+    @Setup
+    public void setup() throws IOException {
+        storage = new StorageService(new MemoryStorageBackend("http://localhost:8080"), 60, 300, 10000);
+        gcs = new GcsStorageBackend(new StaticListableBeanFactory().getBeanProvider(Storage.class),
+            8 * 1024 * 1024, 16, 30000);
+        ReflectionTestUtils.setField(gcs, "bucketName", "notes-pdfs");
+        file = new MockMultipartFile("file", "lecture 1 (final) - trees & graphs.pdf", "application/pdf",
+            new byte[16 * 1024]);
+        memoryUrl = storage.uploadFile(file, PATH);
+        gcsUrl = gcs.url(PATH);
+    }
+
+    @Benchmark
+    public String upload() throws IOException {
+        return storage.uploadFile(file, PATH);
+    }
+
+    @Benchmark
+    public String url() {
+        return storage.url(PATH);
+    }
+
+    @Benchmark
+    public String objectPath() {
+        return storage.objectPath(memoryUrl);
+    }
+
+    @Benchmark
+    public String gcsUrl() {
+        return gcs.url(PATH);
+    }
+
+    @Benchmark
+    public String gcsObjectPath() {
+        return gcs.objectPath(gcsUrl);
+    }
+}
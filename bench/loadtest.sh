@@ -0,0 +1,35 @@
+#!/usr/bin/env bash
+# Boots the app in the self-contained "loadtest" profile (in-memory H2, heap
+# storage, seeded hierarchy and students), drives a login/browse/list/signed
+# URL/upload mix with LoadBench and prints per-endpoint latency percentiles.
+# Needs no database or GCS credentials.
+#
+#   bench/loadtest.sh [concurrency] [duration-seconds] [mix]
+#
+# Extra Spring profiles (e.g. PROFILES=loadtest,virtual) and JVM options
+# (JAVA_OPTS) are passed to the app; WARMUP sets unmeasured seconds.
+set -euo pipefail
+
+CONCURRENCY=${1:-200}
+DURATION=${2:-60}
+MIX=${3:-login=1,browse=4,list=10,signed=4,upload=1}
+PORT=${PORT:-8080}
+PROFILES=${PROFILES:-loadtest}
+WARMUP=${WARMUP:-10}
+
+cd "$(dirname "$0")/.."
+./mvnw -q -Ploadtest -DskipTests package
+JAR=$(ls target/notes-*.jar | grep -v plain | head -1)
+mkdir -p target/loadtest
+
+java ${JAVA_OPTS:-} -jar "$JAR" --server.port="$PORT" --spring.profiles.active="$PROFILES" \
+    --storage.local.base-url="http://localhost:$PORT" > target/loadtest/app.log 2>&1 &
+PID=$!
+trap "kill $PID 2>/dev/null || true" EXIT
+for _ in $(seq 1 180); do
+    curl -sf "http://localhost:$PORT/actuator/health" > /dev/null && break
+    sleep 1
+done
+
+java bench/LoadBench.java --base-url "http://localhost:$PORT" --mix "$MIX" \
+    --concurrency "$CONCURRENCY" --duration "$DURATION" --warmup "$WARMUP"
@@ -0,0 +1,62 @@
+package com.app.notes.config;
+
+import java.util.concurrent.Callable;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+// Read endpoints return Callable, so the Tomcat worker is handed back while the request waits on
+// MySQL or storage. In virtual-thread mode they run on virtual threads and LimitedDataSource admits
+// them to the pool; otherwise on platform threads capped like Tomcat's, so reads can't pile into Hikari
+@Configuration
+public class AsyncConfig implements WebMvcConfigurer {
+
+    @Value("${app.reads.timeout-ms:30000}")
+    private long timeoutMs;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${app.reads.max-concurrent:${server.tomcat.threads.max:200}}")
+    private int maxConcurrent;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("read-");
+        if (virtualThreads) {
+            executor.setVirtualThreads(true);
+        } else {
+            // Over the limit, the Tomcat worker handing off the read waits, as it did before reads were async
+            executor.setConcurrencyLimit(maxConcurrent);
+        }
+        configurer.setTaskExecutor(executor);
+        configurer.setDefaultTimeout(timeoutMs);
+        configurer.registerCallableInterceptors(new RequestContextPropagation());
+    }
+
+    // Expose the request on the async thread too, so service metrics can tag the endpoint
+    private static final class RequestContextPropagation implements CallableProcessingInterceptor {
+
+        @Override
+        public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+            HttpServletRequest servletRequest = request.getNativeRequest(HttpServletRequest.class);
+            if (servletRequest != null) {
+                RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(servletRequest));
+            }
+        }
+
+        @Override
+        public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object result) {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+}
@@ -1,15 +1,28 @@
 package com.app.notes.config;
 
 import java.io.IOException;
-import java.util.List;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.app.notes.service.TokenDenylist;
+
 import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,10 +30,32 @@ import jakarta.servlet.http.HttpServletResponse;
 
 @Component
 public class JwtFilter extends OncePerRequestFilter {
+    private static final String BEARER = "Bearer ";
+    // Token digest computed by RateLimitFilter, reused so each request hashes its token once
+    private static final String DIGEST_ATTRIBUTE = JwtFilter.class.getName() + ".digest";
+
+    private record Verified(Authentication authentication, String jti, Long issuedAt, long expiresAt) {}
+
     private final JwtUtil jwt;
+    private final TokenDenylist denylist;
+
+    // Verified tokens keyed by SHA-256 of the token, kept until the token expires
+    private final Map<ByteBuffer, Verified> verified = new ConcurrentHashMap<>();
+    private final int maxCached;
 
-    public JwtFilter(JwtUtil jwt) {
+    // notes.jwt.validation by result: cached (digest hit), verified (signature checked), rejected (incl. revoked)
+    private final Timer cachedTimer;
+    private final Timer verifiedTimer;
+    private final Timer rejectedTimer;
+
+    public JwtFilter(JwtUtil jwt, TokenDenylist denylist, @Value("${app.jwt.cache-size:10000}") int maxCached,
+                     MeterRegistry registry) {
         this.jwt = jwt;
+        this.denylist = denylist;
+        this.maxCached = maxCached;
+        this.cachedTimer = validationTimer(registry, "cached");
+        this.verifiedTimer = validationTimer(registry, "verified");
+        this.rejectedTimer = validationTimer(registry, "rejected");
     }
 
     @Override
@@ -28,17 +63,12 @@ public class JwtFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
 
         String header = req.getHeader("Authorization");
-        if (header != null && header.startsWith("Bearer ")) {
+        if (header != null && header.startsWith(BEARER)) {
+            long start = System.nanoTime();
             try {
-                Claims claims = jwt.validate(header.substring(7));
-                SecurityContextHolder.getContext().setAuthentication(
-                    new UsernamePasswordAuthenticationToken(
-                        claims.getSubject(),
-                        null,
-                        List.of(new SimpleGrantedAuthority("ROLE_" + claims.get("role")))
-                    )
-                );
+                SecurityContextHolder.getContext().setAuthentication(authenticate(req, header, start));
             } catch (Exception e) {
+                rejectedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
                 res.setStatus(401);
                 return;
             }
@@ -48,6 +78,97 @@ public class JwtFilter extends OncePerRequestFilter {
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest req) {
-        return req.getRequestURI().startsWith("/auth/login");
+        // Refresh carries its token in the body; an expired access token in the header must not block it
+        return req.getRequestURI().startsWith("/auth/login") || req.getRequestURI().startsWith("/auth/refresh");
+    }
+
+    // Subject of a bearer token this node has already verified, or null; no signature check is done here
+    public String verifiedSubject(HttpServletRequest req) {
+        String header = req.getHeader("Authorization");
+        if (header == null || !header.startsWith(BEARER)) {
+            return null;
+        }
+        ByteBuffer key = digest(header);
+        req.setAttribute(DIGEST_ATTRIBUTE, key);
+        Verified hit = verified.get(key);
+        return hit != null && hit.expiresAt() > System.currentTimeMillis() ? hit.authentication().getName() : null;
+    }
+
+    private Authentication authenticate(HttpServletRequest req, String header, long start) {
+        long now = System.currentTimeMillis();
+        ByteBuffer key = req.getAttribute(DIGEST_ATTRIBUTE) instanceof ByteBuffer digest ? digest : digest(header);
+        Verified hit = verified.get(key);
+        if (hit != null) {
+            if (hit.expiresAt() > now) {
+                // Revocation is checked on every request, so logout and bans apply to cached tokens too
+                if (denylist.isRevoked(hit.jti(), hit.authentication().getName(), hit.issuedAt(), hit.expiresAt())) {
+                    throw new IllegalStateException("Token revoked");
+                }
+                cachedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return hit.authentication();
+            }
+            verified.remove(key);
+        }
+
+        Claims claims = jwt.validate(header.substring(BEARER.length()));
+        if (JwtUtil.isRefresh(claims)) {
+            throw new IllegalStateException("Refresh tokens are only accepted by /auth/refresh");
+        }
+        Date issued = claims.getIssuedAt();
+        Long issuedAt = issued != null ? issued.getTime() : null;
+        Date expiration = claims.getExpiration();
+        if (denylist.isRevoked(claims.getId(), claims.getSubject(), issuedAt,
+                expiration != null ? expiration.getTime() : Long.MAX_VALUE)) {
+            throw new IllegalStateException("Token revoked");
+        }
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+            claims.getSubject(),
+            null,
+            RoleAuthorities.forRole(claims.get("role"))
+        );
+
+        if (expiration != null) {
+            if (verified.size() >= maxCached) {
+                evict(now);
+            }
+            verified.put(key, new Verified(authentication, claims.getId(), issuedAt, expiration.getTime()));
+        }
+        verifiedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return authentication;
+    }
+
+    private static Timer validationTimer(MeterRegistry registry, String result) {
+        return Timer.builder("notes.jwt.validation")
+            .description("Bearer token checks in JwtFilter")
+            .tag("result", result)
+            .register(registry);
+    }
+
+    // Digest the token straight from the header, skipping the "Bearer " prefix
+    private static ByteBuffer digest(String header) {
+        byte[] bytes = header.getBytes(StandardCharsets.UTF_8);
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            sha.update(bytes, BEARER.length(), bytes.length - BEARER.length());
+            return ByteBuffer.wrap(sha.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Drop expired entries, then arbitrary ones until the cache is 10% under its bound
+    private void evict(long now) {
+        int target = maxCached - Math.max(1, maxCached / 10);
+        Iterator<Verified> it = verified.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().expiresAt() <= now) {
+                it.remove();
+            }
+        }
+        it = verified.values().iterator();
+        while (verified.size() > target && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
     }
 }
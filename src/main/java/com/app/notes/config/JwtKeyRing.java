@@ -0,0 +1,284 @@
+package com.app.notes.config;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import com.app.notes.model.SigningKey;
+import com.app.notes.repository.SigningKeyRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Signing and verification keys for ES256 tokens ({@code app.jwt.algorithm=ES256}).
+ *
+ * Signing nodes share key pairs through {@code jwt_signing_keys}. The newest
+ * key signs, and every key young enough to have signed a live token verifies.
+ * A new key is created each rotation period by whichever node notices first;
+ * the kid is derived from the period, so nodes racing to rotate collide on the
+ * insert and adopt the winner's key. Verify-only nodes ({@code app.jwt.jwks-uri})
+ * hold no private key and read public keys from a signing node's JWKS instead.
+ *
+ * Keys are cached by kid and reloaded in the background. An unknown kid forces
+ * at most one reload per {@link #MISS_RELOAD_MS}, so a token signed by another
+ * node right after a rotation verifies, while made-up kids cannot cause a
+ * reload storm.
+ */
+@Component
+public class JwtKeyRing {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    public static final String ES256 = "ES256";
+
+    public record Signer(String kid, PrivateKey key) {}
+
+    private record Keys(Map<String, PublicKey> verification, Signer signer) {}
+
+    private static final long MISS_RELOAD_MS = 30_000;
+
+    private final SigningKeyRepository repository;
+    private final ObjectMapper objectMapper;
+    private final String algorithm;
+    private final String jwksUri;
+    private final long rotationMs;
+    private final long refreshMinutes;
+    // Oldest key still needed: it may have signed a token that is valid this long
+    private final long retentionMs;
+
+    private volatile Keys keys = new Keys(Map.of(), null);
+    private volatile long lastReload;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("jwt-key-refresh").daemon().factory());
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    public JwtKeyRing(SigningKeyRepository repository,
+                      ObjectMapper objectMapper,
+                      @Value("${app.jwt.algorithm:HS256}") String algorithm,
+                      @Value("${app.jwt.jwks-uri:}") String jwksUri,
+                      @Value("${app.jwt.keys.rotation-hours:24}") long rotationHours,
+                      @Value("${app.jwt.keys.refresh-minutes:5}") long refreshMinutes,
+                      @Value("${app.jwt.refresh-ttl:604800000}") long refreshTtl) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.algorithm = algorithm;
+        this.jwksUri = jwksUri;
+        this.rotationMs = TimeUnit.HOURS.toMillis(rotationHours);
+        this.refreshMinutes = refreshMinutes;
+        this.retentionMs = rotationMs + Math.max(refreshTtl, TimeUnit.DAYS.toMillis(1));
+    }
+
+    // False in HS256 mode: tokens are signed and verified with app.jwt.secret only
+    public boolean isEnabled() {
+        return ES256.equals(algorithm);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!isEnabled()) return;
+        try {
+            reload();
+        } catch (IllegalStateException e) {
+            // A signing node can't work without its keys; a verify-only one retries on the first token
+            if (jwksUri.isEmpty()) throw e;
+            log.warn("{}; retrying on the first token", e.getMessage());
+        }
+        log.info("JWT keys loaded: {}{}", keys.verification().keySet(),
+            keys.signer() != null ? ", signing with " + keys.signer().kid() : ", verify only");
+        if (refreshMinutes > 0) {
+            refresher.scheduleWithFixedDelay(() -> {
+                try {
+                    reload();
+                } catch (Exception e) {
+                    log.warn("JWT key refresh failed, keeping current keys: {}", e.getMessage());
+                }
+            }, refreshMinutes, refreshMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        refresher.shutdownNow();
+    }
+
+    public Signer signer() {
+        Signer signer = keys.signer();
+        if (signer == null) {
+            throw new IllegalStateException("This node has no JWT signing key (verify only, or keys not loaded)");
+        }
+        return signer;
+    }
+
+    // Verification key for a token's kid, or null if it is unknown even after a reload
+    public PublicKey find(String kid) {
+        if (kid == null) return null;
+        PublicKey key = keys.verification().get(kid);
+        if (key != null || System.currentTimeMillis() - lastReload < MISS_RELOAD_MS) {
+            return key;
+        }
+        reloadLock.lock();
+        try {
+            if (System.currentTimeMillis() - lastReload >= MISS_RELOAD_MS) {
+                try {
+                    reload();
+                } catch (Exception e) {
+                    log.warn("JWT key reload for kid {} failed: {}", kid, e.getMessage());
+                    lastReload = System.currentTimeMillis();
+                }
+            }
+        } finally {
+            reloadLock.unlock();
+        }
+        return keys.verification().get(kid);
+    }
+
+    // Public keys as a JWK set, newest first
+    public List<Map<String, Object>> jwks() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Map.Entry<String, PublicKey> entry : keys.verification().entrySet()) {
+            ECPublicKey key = (ECPublicKey) entry.getValue();
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("kid", entry.getKey());
+            jwk.put("use", "sig");
+            jwk.put("alg", ES256);
+            jwk.put("x", base64Url(key.getW().getAffineX()));
+            jwk.put("y", base64Url(key.getW().getAffineY()));
+            result.add(jwk);
+        }
+        return result;
+    }
+
+    // Swap in a fresh key set; signing nodes rotate first if the current period has no key yet
+    public void reload() {
+        reloadLock.lock();
+        try {
+            keys = jwksUri.isEmpty() ? loadFromDatabase() : loadFromJwks();
+            lastReload = System.currentTimeMillis();
+        } catch (GeneralSecurityException | IOException e) {
+            throw new IllegalStateException("Failed to load JWT keys: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted loading JWT keys", e);
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private Keys loadFromDatabase() throws GeneralSecurityException {
+        long now = System.currentTimeMillis();
+        long period = now / rotationMs;
+        Instant keep = Instant.ofEpochMilli(now - retentionMs);
+        List<SigningKey> rows = repository.findNewerThan(ES256, keep);
+        if (rows.isEmpty() || rows.get(0).getCreatedAt().toEpochMilli() / rotationMs < period) {
+            rotate(period);
+            rows = repository.findNewerThan(ES256, keep);
+            // Every rotating node runs this; the delete is idempotent
+            repository.deleteOlderThan(keep);
+        }
+
+        KeyFactory factory = KeyFactory.getInstance("EC");
+        Map<String, PublicKey> verification = new LinkedHashMap<>();
+        for (SigningKey row : rows) {
+            verification.put(row.getKid(),
+                factory.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(row.getPublicKey()))));
+        }
+        SigningKey newest = rows.get(0);
+        PrivateKey privateKey = factory.generatePrivate(
+            new PKCS8EncodedKeySpec(Base64.getDecoder().decode(newest.getPrivateKey())));
+        return new Keys(Collections.unmodifiableMap(verification), new Signer(newest.getKid(), privateKey));
+    }
+
+    private void rotate(long period) throws GeneralSecurityException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair pair = generator.generateKeyPair();
+        String kid = ES256.toLowerCase() + "-" + period;
+        try {
+            repository.saveAndFlush(new SigningKey(kid, ES256,
+                Base64.getEncoder().encodeToString(pair.getPrivate().getEncoded()),
+                Base64.getEncoder().encodeToString(pair.getPublic().getEncoded())));
+            log.info("Created JWT signing key {}", kid);
+        } catch (DataIntegrityViolationException e) {
+            // Another node rotated at the same time; its key is used instead
+        }
+    }
+
+    private Keys loadFromJwks() throws GeneralSecurityException, IOException, InterruptedException {
+        HttpResponse<String> response = http.send(
+            HttpRequest.newBuilder(URI.create(jwksUri)).timeout(Duration.ofSeconds(5)).GET().build(),
+            HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("JWKS returned HTTP " + response.statusCode());
+        }
+        ECParameterSpec p256 = p256();
+        KeyFactory factory = KeyFactory.getInstance("EC");
+        Map<String, PublicKey> verification = new HashMap<>();
+        for (JsonNode jwk : objectMapper.readTree(response.body()).path("keys")) {
+            if (!"EC".equals(jwk.path("kty").asText()) || !"P-256".equals(jwk.path("crv").asText())) continue;
+            ECPoint point = new ECPoint(unsigned(jwk.path("x").asText()), unsigned(jwk.path("y").asText()));
+            verification.put(jwk.path("kid").asText(), factory.generatePublic(new ECPublicKeySpec(point, p256)));
+        }
+        return new Keys(Map.copyOf(verification), null);
+    }
+
+    private static ECParameterSpec p256() throws GeneralSecurityException {
+        AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+        parameters.init(new ECGenParameterSpec("secp256r1"));
+        return parameters.getParameterSpec(ECParameterSpec.class);
+    }
+
+    // JWK coordinates are fixed-length (32 bytes for P-256), unsigned big-endian, base64url without padding
+    private static String base64Url(BigInteger coordinate) {
+        byte[] bytes = coordinate.toByteArray();
+        byte[] fixed = new byte[32];
+        int length = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - length, fixed, 32 - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+
+    private static BigInteger unsigned(String base64Url) {
+        return new BigInteger(1, Base64.getUrlDecoder().decode(base64Url));
+    }
+}
@@ -1,33 +1,135 @@
 package com.app.notes.config;
 
+import java.security.Key;
+import java.time.Instant;
 import java.util.Date;
 import java.util.Map;
+import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
 
 @Component
 public class JwtUtil {
-    @Value("${app.jwt.secret}")
-    private String secret;
+    public static final String TYPE = "type";
+    public static final String REFRESH = "refresh";
 
+    // The secret has always been read as base64, so existing tokens stay valid.
+    // In ES256 mode it only verifies HS256 tokens issued before the cut-over, and may be left empty
+    private final Key key;
+    // ES256 mode only: HS256 tokens must be issued before hs256Cutover, and none are accepted after hs256Until
+    private final Instant hs256Cutover;
+    private final long hs256Until;
+    private final JwtKeyRing keyRing;
+    private final JwtParser parser;
+    private final long ttl;
+    private final long refreshTtl;
+
+    public JwtUtil(@Value("${app.jwt.secret:}") String secret,
+                   @Value("${app.jwt.ttl:1800000}") long ttl,
+                   @Value("${app.jwt.refresh-ttl:604800000}") long refreshTtl,
+                   @Value("${app.jwt.hs256-cutover:}") String hs256Cutover,
+                   JwtKeyRing keyRing) {
+        if (secret.isEmpty() && !keyRing.isEnabled()) {
+            throw new IllegalStateException("app.jwt.secret is required unless app.jwt.algorithm=ES256");
+        }
+        // Otherwise anyone holding the shared secret could mint HS256 tokens that ES256 nodes accept forever
+        if (!secret.isEmpty() && keyRing.isEnabled() && hs256Cutover.isEmpty()) {
+            throw new IllegalStateException(
+                "In ES256 mode, leave app.jwt.secret empty or set app.jwt.hs256-cutover to when HS256 signing stopped");
+        }
+        this.key = secret.isEmpty() ? null : Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        this.keyRing = keyRing;
+        this.parser = Jwts.parserBuilder()
+            .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                @Override
+                public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                    return verificationKey(header, claims);
+                }
+            })
+            .build();
+        this.ttl = ttl;
+        this.refreshTtl = refreshTtl;
+        this.hs256Cutover = hs256Cutover.isEmpty() ? null : Instant.parse(hs256Cutover);
+        this.hs256Until = this.hs256Cutover == null ? Long.MAX_VALUE : this.hs256Cutover.toEpochMilli() + getMaxTtl();
+    }
+
+    // Short-lived access token for the Authorization header
     public String generate(String email, String role) {
-        return Jwts.builder()
-            .setSubject(email)
-            .addClaims(Map.of("role", role))
-            .setExpiration(new Date(System.currentTimeMillis() + 86400000)) // 24 hours
-            .signWith(SignatureAlgorithm.HS256, secret)
-            .compact();
+        return build(email, Map.of("role", role), ttl);
+    }
+
+    // Long-lived token that is only accepted by /auth/refresh
+    public String generateRefresh(String email, String role) {
+        return build(email, Map.of("role", role, TYPE, REFRESH), refreshTtl);
     }
 
     public Claims validate(String token) {
-        return Jwts.parser()
-            .setSigningKey(secret)
-            .parseClaimsJws(token)
-            .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    public static boolean isRefresh(Claims claims) {
+        return REFRESH.equals(claims.get(TYPE));
+    }
+
+    public long getTtl() {
+        return ttl;
+    }
+
+    // No token lives longer than this, so a user cutoff can be dropped after it
+    public long getMaxTtl() {
+        return Math.max(ttl, Math.max(refreshTtl, 86400000)); // pre-refresh tokens were valid 24 hours
+    }
+
+    private String build(String email, Map<String, Object> claims, long lifetime) {
+        long now = System.currentTimeMillis();
+        JwtBuilder builder = Jwts.builder()
+            .setId(UUID.randomUUID().toString())
+            .setSubject(email)
+            .addClaims(claims)
+            .setIssuedAt(new Date(now))
+            .setExpiration(new Date(now + lifetime));
+        if (keyRing.isEnabled()) {
+            JwtKeyRing.Signer signer = keyRing.signer();
+            return builder.setHeaderParam(JwsHeader.KEY_ID, signer.kid())
+                .signWith(signer.key(), SignatureAlgorithm.ES256)
+                .compact();
+        }
+        return builder.signWith(key, SignatureAlgorithm.HS256).compact();
+    }
+
+    // Key for the algorithm the token names; anything but HS256 (with a secret) and ES256 is refused.
+    // The iat checked here is covered by the signature, so it can't be back-dated without the key
+    private Key verificationKey(JwsHeader<?> header, Claims claims) {
+        String algorithm = header.getAlgorithm();
+        if (SignatureAlgorithm.HS256.getValue().equals(algorithm) && key != null) {
+            if (keyRing.isEnabled() && !issuedBeforeCutover(claims)) {
+                throw new UnsupportedJwtException("HS256 token issued after the ES256 cut-over");
+            }
+            return key;
+        }
+        if (JwtKeyRing.ES256.equals(algorithm) && keyRing.isEnabled()) {
+            Key verification = keyRing.find(header.getKeyId());
+            if (verification == null) throw new UnsupportedJwtException("Unknown signing key: " + header.getKeyId());
+            return verification;
+        }
+        throw new UnsupportedJwtException("Unsupported signing algorithm: " + algorithm);
+    }
+
+    private boolean issuedBeforeCutover(Claims claims) {
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt != null && issuedAt.toInstant().isBefore(hs256Cutover)
+            && System.currentTimeMillis() < hs256Until;
     }
 }
@@ -0,0 +1,296 @@
+package com.app.notes.config;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Admission control in front of everything else in the security chain.
+ *
+ * Each request is matched against {@code app.ratelimit.routes} (first match
+ * wins) and must take a token from its client IP's bucket and, when the bearer
+ * token was already verified by {@link JwtFilter}, from its user's bucket.
+ * Tokens seen for the first time only count against the IP, so a forged
+ * subject can't drain someone else's bucket. A route may also cap how many of
+ * its requests are in flight at once. Refusals are answered here, before
+ * token verification, body parsing or a pool connection: 429 (or 503 for the
+ * in-flight cap) with Retry-After.
+ *
+ * Buckets are lock-free: each is one AtomicLong holding the time at which it
+ * will be full again (GCRA), updated with a CAS.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public record RouteStats(String route, long admitted, long limitedIp, long limitedUser, long limitedConcurrency,
+                             int inFlight, int ipKeys, int userKeys) {}
+
+    public record AdmissionStats(boolean enabled, long admitted, long limited, List<RouteStats> routes) {}
+
+    // burst requests at once, then perMinute spread evenly
+    private static final class Limit {
+        final long intervalNanos;
+        final long burstNanos;
+
+        Limit(long burst, long perMinute) {
+            this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / perMinute;
+            this.burstNanos = intervalNanos * burst;
+        }
+
+        static Limit parse(String spec) {
+            String[] parts = spec.split("/");
+            return new Limit(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+        }
+
+        // 0 if a token was taken, otherwise nanos until one is available
+        long take(AtomicLong fullAt, long now) {
+            while (true) {
+                long current = fullAt.get();
+                long next = Math.max(current, now) + intervalNanos;
+                long wait = next - burstNanos - now;
+                if (wait > 0) return wait;
+                if (fullAt.compareAndSet(current, next)) return 0;
+            }
+        }
+    }
+
+    // Releases an async request's in-flight slot when its response completes (also after timeout or error)
+    private record Release(AtomicInteger inFlight) implements AsyncListener {
+        @Override
+        public void onComplete(AsyncEvent event) {
+            inFlight.decrementAndGet();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {}
+
+        @Override
+        public void onError(AsyncEvent event) {}
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {}
+    }
+
+    private static final class Route {
+        final String spec;
+        final String method;
+        final PathPattern pattern;
+        final Limit ipLimit;
+        final Limit userLimit;
+        final int maxInFlight;
+
+        final Map<String, AtomicLong> ipBuckets = new ConcurrentHashMap<>();
+        final Map<String, AtomicLong> userBuckets = new ConcurrentHashMap<>();
+        final AtomicInteger inFlight = new AtomicInteger();
+
+        final LongAdder admitted = new LongAdder();
+        final LongAdder limitedIp = new LongAdder();
+        final LongAdder limitedUser = new LongAdder();
+        final LongAdder limitedConcurrency = new LongAdder();
+
+        // "<METHOD|*> <path pattern> [ip=burst/perMinute] [user=burst/perMinute] [concurrency=n]"
+        Route(String spec, PathPatternParser parser) {
+            this.spec = spec.trim();
+            String[] parts = this.spec.split("\\s+");
+            if (parts.length < 2) throw new IllegalArgumentException("Bad app.ratelimit.routes entry: " + spec);
+            this.method = parts[0].toUpperCase();
+            this.pattern = parser.parse(parts[1]);
+            Limit ip = null;
+            Limit user = null;
+            int concurrency = 0;
+            for (int i = 2; i < parts.length; i++) {
+                String part = parts[i];
+                if (part.startsWith("ip=")) ip = Limit.parse(part.substring(3));
+                else if (part.startsWith("user=")) user = Limit.parse(part.substring(5));
+                else if (part.startsWith("concurrency=")) concurrency = Integer.parseInt(part.substring(12));
+                else throw new IllegalArgumentException("Bad app.ratelimit.routes entry: " + spec);
+            }
+            this.ipLimit = ip;
+            this.userLimit = user;
+            this.maxInFlight = concurrency;
+        }
+
+        boolean matches(String requestMethod, PathContainer path) {
+            return ("*".equals(method) || method.equals(requestMethod)) && pattern.matches(path);
+        }
+    }
+
+    private final JwtFilter jwtFilter;
+    private final boolean enabled;
+    private final int maxKeys;
+    private final List<Route> routes = new ArrayList<>();
+
+    private final Counter admittedCounter;
+    private final Map<String, Counter> limitedCounters = new LinkedHashMap<>();
+
+    public RateLimitFilter(JwtFilter jwtFilter,
+                           MeterRegistry registry,
+                           @Value("${app.ratelimit.enabled:true}") boolean enabled,
+                           @Value("${app.ratelimit.routes:* /** ip=300/1200}") String[] routes,
+                           @Value("${app.ratelimit.max-keys:100000}") int maxKeys) {
+        this.jwtFilter = jwtFilter;
+        this.enabled = enabled;
+        this.maxKeys = maxKeys;
+        PathPatternParser parser = new PathPatternParser();
+        for (String spec : routes) {
+            if (!spec.isBlank()) this.routes.add(new Route(spec, parser));
+        }
+        this.admittedCounter = Counter.builder("notes.ratelimit.requests")
+            .description("Requests admitted or refused by RateLimitFilter")
+            .tag("result", "admitted")
+            .register(registry);
+        for (String reason : List.of("ip", "user", "concurrency")) {
+            limitedCounters.put(reason, Counter.builder("notes.ratelimit.requests")
+                .description("Requests admitted or refused by RateLimitFilter")
+                .tag("result", "limited_" + reason)
+                .register(registry));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws ServletException, IOException {
+
+        Route route = match(req);
+        if (route == null) {
+            chain.doFilter(req, res);
+            return;
+        }
+
+        long now = System.nanoTime();
+        if (route.ipLimit != null) {
+            long wait = route.ipLimit.take(bucket(route.ipBuckets, req.getRemoteAddr(), now), now);
+            if (wait > 0) {
+                route.limitedIp.increment();
+                reject(res, "ip", HttpStatus.TOO_MANY_REQUESTS, wait);
+                return;
+            }
+        }
+        if (route.userLimit != null) {
+            String subject = jwtFilter.verifiedSubject(req);
+            if (subject != null) {
+                long wait = route.userLimit.take(bucket(route.userBuckets, subject, now), now);
+                if (wait > 0) {
+                    route.limitedUser.increment();
+                    reject(res, "user", HttpStatus.TOO_MANY_REQUESTS, wait);
+                    return;
+                }
+            }
+        }
+        if (route.maxInFlight > 0 && route.inFlight.incrementAndGet() > route.maxInFlight) {
+            route.inFlight.decrementAndGet();
+            route.limitedConcurrency.increment();
+            reject(res, "concurrency", HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1));
+            return;
+        }
+
+        route.admitted.increment();
+        admittedCounter.increment();
+        if (route.maxInFlight == 0) {
+            chain.doFilter(req, res);
+            return;
+        }
+        boolean async = false;
+        try {
+            chain.doFilter(req, res);
+            async = req.isAsyncStarted();
+            if (async) {
+                // Async requests (login) stay in flight until the response completes
+                req.getAsyncContext().addListener(new Release(route.inFlight));
+            }
+        } finally {
+            if (!async) route.inFlight.decrementAndGet();
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest req) {
+        return !enabled;
+    }
+
+    public AdmissionStats getStats() {
+        List<RouteStats> stats = new ArrayList<>();
+        long admitted = 0;
+        long limited = 0;
+        for (Route route : routes) {
+            RouteStats s = new RouteStats(route.spec, route.admitted.sum(), route.limitedIp.sum(), route.limitedUser.sum(),
+                route.limitedConcurrency.sum(), route.inFlight.get(), route.ipBuckets.size(), route.userBuckets.size());
+            admitted += s.admitted();
+            limited += s.limitedIp() + s.limitedUser() + s.limitedConcurrency();
+            stats.add(s);
+        }
+        return new AdmissionStats(enabled, admitted, limited, stats);
+    }
+
+    private Route match(HttpServletRequest req) {
+        PathContainer path = PathContainer.parsePath(req.getRequestURI().substring(req.getContextPath().length()));
+        for (Route route : routes) {
+            if (route.matches(req.getMethod(), path)) return route;
+        }
+        return null;
+    }
+
+    private AtomicLong bucket(Map<String, AtomicLong> buckets, String key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) return bucket;
+        if (buckets.size() >= maxKeys) {
+            evict(buckets, now);
+        }
+        // A new bucket starts full
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    private void reject(HttpServletResponse res, String reason, HttpStatus status, long waitNanos) throws IOException {
+        limitedCounters.get(reason).increment();
+        long retryAfter = Math.max(1, (long) Math.ceil(waitNanos / 1e9));
+        res.setStatus(status.value());
+        res.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        res.getWriter().write(status == HttpStatus.SERVICE_UNAVAILABLE
+            ? "{\"message\":\"Server busy, retry shortly\"}"
+            : "{\"message\":\"Too many requests, retry in " + retryAfter + " s\"}");
+    }
+
+    // Drop buckets that have refilled (same as absent), then arbitrary ones until 10% under the bound
+    private void evict(Map<String, AtomicLong> buckets, long now) {
+        int target = maxKeys - Math.max(1, maxKeys / 10);
+        Iterator<AtomicLong> it = buckets.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().get() <= now) {
+                it.remove();
+            }
+        }
+        it = buckets.values().iterator();
+        while (buckets.size() > target && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.app.notes.config;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+// Shared, immutable authority lists for the known roles, and allocation-free checks against them
+public final class RoleAuthorities {
+
+    public static final GrantedAuthority ADMIN = new SimpleGrantedAuthority("ROLE_ADMIN");
+    public static final GrantedAuthority USER = new SimpleGrantedAuthority("ROLE_USER");
+
+    static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private static final Map<String, List<GrantedAuthority>> BY_ROLE = Map.of(
+        "ADMIN", List.of(ADMIN),
+        "USER", List.of(USER)
+    );
+    // Any other role seen in a token; roles only come from tokens this app signed, so the map stays small
+    private static final Map<String, List<GrantedAuthority>> OTHER_ROLES = new ConcurrentHashMap<>();
+
+    private RoleAuthorities() {}
+
+    public static List<GrantedAuthority> forRole(Object role) {
+        String name = String.valueOf(role);
+        List<GrantedAuthority> authorities = BY_ROLE.get(name);
+        return authorities != null ? authorities
+            : OTHER_ROLES.computeIfAbsent(name, r -> List.of(new SimpleGrantedAuthority("ROLE_" + r)));
+    }
+
+    // The shared authority for a role name ("ADMIN"), created once for roles not listed above
+    public static GrantedAuthority authority(String role) {
+        return forRole(role).get(0);
+    }
+
+    // JwtFilter always hands out the shared instances, so the identity check almost always decides
+    public static boolean has(Authentication authentication, GrantedAuthority authority) {
+        if (authentication == null || !authentication.isAuthenticated()) return false;
+        for (GrantedAuthority granted : authentication.getAuthorities()) {
+            if (granted == authority || authority.getAuthority().equals(granted.getAuthority())) return true;
+        }
+        return false;
+    }
+
+    public static boolean hasAny(Authentication authentication, GrantedAuthority[] authorities) {
+        for (GrantedAuthority authority : authorities) {
+            if (has(authentication, authority)) return true;
+        }
+        return false;
+    }
+
+    // URL rule for SecurityConfig, e.g. .access(RoleAuthorities.require("USER", "ADMIN"))
+    public static AuthorizationManager<RequestAuthorizationContext> require(String... roles) {
+        GrantedAuthority[] authorities = new GrantedAuthority[roles.length];
+        for (int i = 0; i < roles.length; i++) {
+            authorities[i] = authority(roles[i]);
+        }
+        return (Supplier<Authentication> authentication, RequestAuthorizationContext context) ->
+            hasAny(authentication.get(), authorities) ? GRANTED : DENIED;
+    }
+}
@@ -0,0 +1,43 @@
+package com.app.notes.config;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * Decides {@link RequiresRole} methods. Each method's annotation is resolved
+ * to the shared authority instances once; after that a check is a map lookup
+ * and an identity comparison, with no allocation and no expression evaluation.
+ */
+public class RoleAuthorizationManager implements AuthorizationManager<MethodInvocation> {
+
+    private final Map<Method, GrantedAuthority[]> required = new ConcurrentHashMap<>();
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        GrantedAuthority[] authorities = required.get(invocation.getMethod());
+        if (authorities == null) {
+            authorities = required.computeIfAbsent(invocation.getMethod(), RoleAuthorizationManager::resolve);
+        }
+        if (authorities.length == 0) return RoleAuthorities.GRANTED;
+        return RoleAuthorities.hasAny(authentication.get(), authorities) ? RoleAuthorities.GRANTED : RoleAuthorities.DENIED;
+    }
+
+    private static GrantedAuthority[] resolve(Method method) {
+        RequiresRole annotation = AnnotatedElementUtils.findMergedAnnotation(method, RequiresRole.class);
+        if (annotation == null) return new GrantedAuthority[0];
+        GrantedAuthority[] authorities = new GrantedAuthority[annotation.value().length];
+        for (int i = 0; i < authorities.length; i++) {
+            authorities[i] = RoleAuthorities.authority(annotation.value()[i]);
+        }
+        return authorities;
+    }
+}
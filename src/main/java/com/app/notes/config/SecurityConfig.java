@@ -1,19 +1,36 @@
 package com.app.notes.config;
 
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authorization.method.AuthorizationInterceptorsOrder;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import jakarta.servlet.DispatcherType;
+
 @Configuration
 public class SecurityConfig {
     private final JwtFilter jwtFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final boolean publicDownloads;
 
-    public SecurityConfig(JwtFilter jwtFilter) {
+    public SecurityConfig(JwtFilter jwtFilter,
+                          RateLimitFilter rateLimitFilter,
+                          @Value("${storage.backend:gcs}") String storageBackend) {
         this.jwtFilter = jwtFilter;
+        this.rateLimitFilter = rateLimitFilter;
+        this.publicDownloads = !"gcs".equals(storageBackend);
     }
 
     @Bean
@@ -23,30 +40,55 @@ public class SecurityConfig {
             .sessionManagement(sess -> 
                 sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // Async and error re-dispatches were already authorized on the original request
+                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+
                 // Public endpoints
                 .requestMatchers(
                     "/auth/login", 
                     "/auth/register",
+                    // Authenticated by the refresh token in the body
+                    "/auth/refresh",
+                    // Public keys for nodes and services that verify tokens without the secret
+                    "/.well-known/jwks.json",
                     "/",
                     "/index.html",
                     "/styles.css",
-                    "/app.js"
+                    "/app.js",
+                    // Load balancer health checks carry no token
+                    "/actuator/health"
                 ).permitAll()
-                
-                // User & Admin endpoints
-                .requestMatchers(HttpMethod.GET, "/**")
-                    .hasAnyRole("USER", "ADMIN")
-                
-                // Admin-only endpoints
-                .requestMatchers(HttpMethod.POST, "/**")
-                    .hasRole("ADMIN")
-                .requestMatchers(HttpMethod.DELETE, "/**")
-                    .hasRole("ADMIN")
-                
-                .anyRequest().authenticated()
+                // Metrics expose routes, class names and pool sizes, so scrapes need an ADMIN token too
+                .requestMatchers("/actuator/**").access(RoleAuthorities.require("ADMIN"))
+
+                // Local and memory backend file URLs are plain links (FileController limits what they reach);
+                // GCS objects are only handed out as signed URLs, so streaming them needs a token
+                .requestMatchers(HttpMethod.GET, "/files/download").access(publicDownloads
+                    ? (authentication, context) -> RoleAuthorities.GRANTED
+                    : RoleAuthorities.require("USER", "ADMIN"))
+
+                // Everything else needs a known role; admin-only endpoints say so with @RequiresRole
+                .anyRequest().access(RoleAuthorities.require("USER", "ADMIN"))
             )
-            .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+            .exceptionHandling(ex -> ex.accessDeniedHandler((req, res, denied) -> {
+                res.setStatus(HttpStatus.FORBIDDEN.value());
+                res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                res.getWriter().write("{\"message\":\"Access denied\"}");
+            }))
+            .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+            // Refuse over-limit requests before any token is verified
+            .addFilterBefore(rateLimitFilter, JwtFilter.class);
 
         return http.build();
     }
+
+    // Enforces @RequiresRole on controller methods, before the method runs
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor requiresRoleAdvisor() {
+        AuthorizationManagerBeforeMethodInterceptor interceptor = new AuthorizationManagerBeforeMethodInterceptor(
+            new AnnotationMatchingPointcut(null, RequiresRole.class, true), new RoleAuthorizationManager());
+        interceptor.setOrder(AuthorizationInterceptorsOrder.PRE_AUTHORIZE.getOrder());
+        return interceptor;
+    }
 }
@@ -0,0 +1,67 @@
+package com.app.notes.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times every public method of the beans in the service package (services,
+ * storage backends, invalidation transports) as {@code notes.service}.
+ *
+ * Tags: class, method, outcome (SUCCESS/ERROR), exception, and endpoint, the
+ * "METHOD /route/{pattern}" of the request being served, or "none" for
+ * background work such as the PDF pipeline.
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    private static final String NONE = "none";
+
+    private final MeterRegistry registry;
+
+    public ServiceMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * com.app.notes.service..*(..)) && within(com.app.notes.service..*)")
+    public Object time(ProceedingJoinPoint call) throws Throwable {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "SUCCESS";
+        String exception = NONE;
+        try {
+            return call.proceed();
+        } catch (Throwable e) {
+            outcome = "ERROR";
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("notes.service")
+                .description("Service and storage calls")
+                .tag("class", call.getSignature().getDeclaringType().getSimpleName())
+                .tag("method", call.getSignature().getName())
+                .tag("endpoint", endpoint())
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .register(registry));
+        }
+    }
+
+    // Route template rather than the raw URI, so ids don't explode the tag values
+    static String endpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servlet)) {
+            return NONE;
+        }
+        Object pattern = servlet.getRequest().getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? servlet.getRequest().getMethod() + " " + pattern : NONE;
+    }
+}
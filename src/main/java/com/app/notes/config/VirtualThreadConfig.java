@@ -0,0 +1,50 @@
+package com.app.notes.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// Opt-in virtual-thread mode (spring.threads.virtual.enabled=true, see the "virtual" profile)
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    // Put an admission semaphore in front of the pool so blocked virtual threads queue outside Hikari
+    @Bean
+    public static BeanPostProcessor limitedDataSourcePostProcessor(Environment env) {
+        int permits = env.getProperty("app.db.max-concurrent",
+            Integer.class, env.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        long timeoutMs = env.getProperty("app.db.acquire-timeout-ms", Long.class, 30000L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof LimitedDataSource)) {
+                    return new LimitedDataSource(dataSource, permits, timeoutMs);
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Saturation of the admission limiter; Hikari's own pool metrics are bound by Actuator
+    @Bean
+    public MeterBinder dbAdmissionMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof LimitedDataSource limited) {
+                Gauge.builder("notes.db.admission.waiting", limited, LimitedDataSource::queueLength)
+                    .description("Threads queued for a database connection permit")
+                    .register(registry);
+                Gauge.builder("notes.db.admission.available", limited, LimitedDataSource::availablePermits)
+                    .description("Free database connection permits")
+                    .register(registry);
+            }
+        };
+    }
+}
@@ -1,18 +1,28 @@
 package com.app.notes.controller;
 
-import org.springframework.beans.factory.annotation.Value;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.app.notes.config.JwtUtil;
+import com.app.notes.config.RequiresRole;
 import com.app.notes.dto.AuthResponse;
 import com.app.notes.dto.LoginRequest;
+import com.app.notes.dto.RefreshRequest;
 import com.app.notes.dto.RegisterRequest;
 import com.app.notes.dto.UserResponse;  // New DTO for user info
 import com.app.notes.model.User;
 import com.app.notes.service.AuthService;
+import com.app.notes.service.LoginThrottledException;
 
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;  // Add validation
 
 @RestController
@@ -21,30 +31,88 @@ public class AuthController {
     private final AuthService auth;
     private final JwtUtil jwt;
 
-    @Value("${app.jwt.ttl}")
-    private long ttl;
-
     public AuthController(AuthService auth, JwtUtil jwt) {
         this.auth = auth;
         this.jwt = jwt;
     }
 
+    // Password checks complete on the password pool; the request thread is released meanwhile.
+    // getRemoteAddr() is the client behind a trusted proxy (server.tomcat.remoteip.*), not the proxy
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest req) {
-        try {
-            String role = auth.roleFor(req.email(), req.password());
-            if (role == null) {
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody LoginRequest req, HttpServletRequest request) {
+        return auth.login(req.email(), req.password(), request.getRemoteAddr())
+            .<ResponseEntity<?>>thenApply(role -> {
+                if (role == null) {
+                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .build();
+                }
+                return ResponseEntity.ok(tokens(req.email(), role));
+            })
+            .exceptionally(e -> {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                if (cause instanceof LoginThrottledException throttled) {
+                    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, String.valueOf(throttled.getRetryAfterSeconds()))
+                        .body(Map.of("message", throttled.getMessage()));
+                }
+                if (cause instanceof RejectedExecutionException) {
+                    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .body(Map.of("message", "Login is busy, retry shortly"));
+                }
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .build();
-            }
-            String token = jwt.generate(req.email(), role);
-            return ResponseEntity.ok(new AuthResponse(token, ttl / 1000, role));
-        } catch (Exception e) {
+            });
+    }
+
+    // Trade a refresh token for a new pair; each refresh token works once
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshRequest req) {
+        Claims claims = parse(req.refreshToken());
+        if (claims == null || !JwtUtil.isRefresh(claims) || !auth.refresh(claims.getId(), claims.getSubject(),
+                issuedAt(claims), claims.getExpiration().getTime())) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(Map.of("message", "Invalid or revoked refresh token"));
+        }
+        return ResponseEntity.ok(tokens(claims.getSubject(), claims.get("role", String.class)));
+    }
+
+    // Revoke the access token in the header and, if given, the matching refresh token
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String header,
+                                    @RequestBody(required = false) RefreshRequest req) {
+        Claims access = parse(header.substring("Bearer ".length()));
+        if (access == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .build();
         }
+        auth.revoke(access.getId(), access.getSubject(), access.getExpiration().getTime());
+        Claims refresh = req != null ? parse(req.refreshToken()) : null;
+        if (refresh != null && JwtUtil.isRefresh(refresh) && access.getSubject().equals(refresh.getSubject())) {
+            auth.revoke(refresh.getId(), refresh.getSubject(), refresh.getExpiration().getTime());
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    // Admin: reject every token the user holds and block their logins until unbanned
+    @PostMapping("/ban")
+    @RequiresRole("ADMIN")
+    public ResponseEntity<?> ban(@RequestParam String email) {
+        auth.ban(email);
+        return ResponseEntity.ok(Map.of("message", "User banned"));
+    }
+
+    // Admin: lift a ban; tokens issued before it stay revoked
+    @DeleteMapping("/ban")
+    @RequiresRole("ADMIN")
+    public ResponseEntity<?> unban(@RequestParam String email) {
+        if (!auth.unban(email, jwt.getMaxTtl())) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("message", "User is not banned"));
+        }
+        return ResponseEntity.ok(Map.of("message", "User unbanned"));
     }
-    
+
     @PostMapping("/register")
     public ResponseEntity<UserResponse> register(@Valid @RequestBody RegisterRequest req) {
         try {
@@ -65,4 +133,22 @@ public class AuthController {
                 .build();
         }
     }
+
+    private AuthResponse tokens(String email, String role) {
+        return new AuthResponse(jwt.generate(email, role), jwt.getTtl() / 1000, role, jwt.generateRefresh(email, role));
+    }
+
+    // Claims of a validly signed, unexpired token, or null
+    private Claims parse(String token) {
+        if (token == null) return null;
+        try {
+            return jwt.validate(token);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static Long issuedAt(Claims claims) {
+        return claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : null;
+    }
 }
@@ -0,0 +1,118 @@
+package com.app.notes.controller;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.app.notes.service.StorageBackend;
+import com.app.notes.service.StorageService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Writes a stored object to the response without buffering it: conditional
+ * GET (304), single byte ranges (206/416) with If-Range, and sendfile for
+ * files on local disk.
+ */
+@Component
+public class ContentStreamer {
+
+    private final StorageService storageService;
+
+    public ContentStreamer(StorageService storageService) {
+        this.storageService = storageService;
+    }
+
+    public void stream(String objectPath, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        StorageBackend.ObjectInfo info;
+        try {
+            info = storageService.stat(objectPath);
+        } catch (IllegalArgumentException e) {
+            response.sendError(400);
+            return;
+        }
+        if (info == null) {
+            response.sendError(404);
+            return;
+        }
+
+        long size = info.size();
+        String etag = "\"" + Long.toHexString(info.lastModified()) + "-" + Long.toHexString(size) + "\"";
+
+        // If-None-Match / If-Modified-Since: sets 304 plus ETag and Last-Modified
+        if (new ServletWebRequest(request, response).checkNotModified(etag, info.lastModified())) {
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        response.setContentType(info.contentType() != null ? info.contentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+
+        long start = 0;
+        long end = size - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && size > 0 && rangeApplies(request, etag, info.lastModified())) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            // Multi-range requests get the whole body, which the spec allows
+            if (ranges.size() == 1) {
+                start = ranges.get(0).getRangeStart(size);
+                end = ranges.get(0).getRangeEnd(size);
+                // HttpRange clamps rather than rejects: bytes=5000- on 1000 bytes starts past the end,
+                // bytes=-0 ends before it starts
+                if (start >= size || start > end) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    response.setStatus(416);
+                    return;
+                }
+                response.setStatus(206);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+        }
+
+        long length = end - start + 1;
+        response.setContentLengthLong(length);
+        if (length <= 0 || "HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        // Hand local files to Tomcat's sendfile so the bytes never enter the JVM
+        Path file = storageService.localFile(objectPath);
+        if (file != null && Boolean.TRUE.equals(request.getAttribute("org.apache.tomcat.sendfile.support"))) {
+            request.setAttribute("org.apache.tomcat.sendfile.filename", file.toString());
+            request.setAttribute("org.apache.tomcat.sendfile.start", start);
+            request.setAttribute("org.apache.tomcat.sendfile.end", end + 1);
+            return;
+        }
+
+        storageService.transferTo(objectPath, start, length, Channels.newChannel(response.getOutputStream()));
+    }
+
+    // If-Range: serve the range only if the client's validator still matches
+    private static boolean rangeApplies(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
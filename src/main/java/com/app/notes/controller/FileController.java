@@ -1,10 +1,9 @@
 package com.app.notes.controller;
 
+import java.io.IOException;
 import java.util.Map;
 
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -13,30 +12,37 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.app.notes.config.RequiresRole;
+import com.app.notes.service.BlobService;
+import com.app.notes.service.NotePipelineService;
 import com.app.notes.service.StorageService;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
 @RestController
 @RequestMapping("/files")
 public class FileController {
 
     private final StorageService storageService;
+    private final BlobService blobService;
+    private final ContentStreamer contentStreamer;
 
-    public FileController(StorageService storageService) {
+    public FileController(StorageService storageService, BlobService blobService, ContentStreamer contentStreamer) {
         this.storageService = storageService;
+        this.blobService = blobService;
+        this.contentStreamer = contentStreamer;
     }
 
+    // POST /files/upload - Upload a file (ADMIN only)
     @PostMapping("/upload")
+    @RequiresRole("ADMIN")
     public ResponseEntity<?> uploadFile(
-        @RequestParam("file") MultipartFile file,
-        Authentication auth
+        @RequestParam("file") MultipartFile file
     ) {
-        // Only admins can upload
-        if (!auth.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN"))) {
-            return ResponseEntity.status(403).body(Map.of("message", "Admins only"));
-        }
-
         try {
-            String fileUrl = storageService.uploadFile(file);
+            // Stored by content hash; re-uploading the same bytes returns the existing URL
+            String fileUrl = blobService.store(file).url();
             return ResponseEntity.ok(Map.of(
                 "message", "File uploaded successfully",
                 "url", fileUrl,
@@ -51,15 +57,26 @@ public class FileController {
 
     @GetMapping("/url/{fileName}")
     public ResponseEntity<?> getFileUrl(@PathVariable String fileName) {
+        return signedUrl(fileName);
+    }
+
+    // GET /files/url?path=... - Same, for object paths containing slashes (e.g. blobs/ab/<digest>.pdf)
+    @GetMapping(value = "/url", params = "path")
+    public ResponseEntity<?> getFileUrlByPath(@RequestParam String path) {
+        return signedUrl(path);
+    }
+
+    private ResponseEntity<?> signedUrl(String fileName) {
         try {
-            String signedUrl = storageService.getSignedUrl(fileName);
+            StorageService.SignedUrl signedUrl = storageService.getSignedUrl(fileName);
             if (signedUrl == null) {
                 return ResponseEntity.status(404).body(Map.of("message", "File not found"));
             }
+            // Seconds the (possibly cached) URL has left
             return ResponseEntity.ok(Map.of(
                 "fileName", fileName,
-                "url", signedUrl,
-                "expiresIn", "1 hour"
+                "url", signedUrl.url(),
+                "expiresIn", signedUrl.expiresInSeconds()
             ));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of(
@@ -67,4 +84,36 @@ public class FileController {
             ));
         }
     }
+
+    // GET /files/stats/blobs - Deduplicated storage counters
+    @GetMapping("/stats/blobs")
+    @RequiresRole("ADMIN")
+    public ResponseEntity<?> getBlobStats() {
+        return ResponseEntity.ok(blobService.getStats());
+    }
+
+    // GET /files/stats/signed-urls - Signed URL cache counters
+    @GetMapping("/stats/signed-urls")
+    @RequiresRole("ADMIN")
+    public ResponseEntity<?> getSignedUrlStats() {
+        return ResponseEntity.ok(storageService.getSignedUrlStats());
+    }
+
+    // GET /files/download?path=... - Stream a stored file (local and memory backend URLs point here).
+    // Those URLs are opened as plain links, so without a token only the paths the app hands out are served
+    @GetMapping("/download")
+    public void download(@RequestParam("path") String path,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        if (request.getUserPrincipal() == null && !isIssuedPath(path)) {
+            response.sendError(404);
+            return;
+        }
+        contentStreamer.stream(path, request, response);
+    }
+
+    private static boolean isIssuedPath(String path) {
+        return (path.startsWith(BlobService.PATH_PREFIX) || path.startsWith(NotePipelineService.THUMBNAIL_PREFIX))
+            && !path.contains("..") && !path.contains("\\");
+    }
 }
@@ -0,0 +1,29 @@
+package com.app.notes.controller;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.app.notes.config.JwtKeyRing;
+
+@RestController
+public class JwksController {
+
+    private final JwtKeyRing keyRing;
+
+    public JwksController(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+    }
+
+    // GET /.well-known/jwks.json - Public keys that verify this deployment's ES256 tokens (empty in HS256 mode)
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<?> getJwks() {
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+            .body(Map.of("keys", keyRing.jwks()));
+    }
+}
@@ -1,11 +1,11 @@
 package com.app.notes.controller;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -15,53 +15,120 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.app.notes.config.RequiresRole;
+import com.app.notes.dto.BulkUploadResult;
+import com.app.notes.dto.NotePage;
 import com.app.notes.dto.NoteResponse;
+import com.app.notes.service.NotePipelineService;
 import com.app.notes.service.NoteService;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
 @RestController
 @RequestMapping("/subjects/{subjectId}/notes")
 public class NoteController {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final NoteService noteService;
+    private final ContentStreamer contentStreamer;
+    private final NotePipelineService pipelineService;
 
-    public NoteController(NoteService noteService) {
+    public NoteController(NoteService noteService, ContentStreamer contentStreamer,
+                          NotePipelineService pipelineService) {
         this.noteService = noteService;
+        this.contentStreamer = contentStreamer;
+        this.pipelineService = pipelineService;
     }
 
     // GET /subjects/{subjectId}/notes - Get all notes for a subject
+    // One short read-only query; the connection is back in the pool before a slow client reads the JSON
+    @GetMapping(params = {"!limit", "!after"})
+    public Callable<ResponseEntity<?>> getBySubject(@PathVariable Long subjectId) {
+        return () -> ResponseEntity.ok(noteService.getBySubjectId(subjectId));
+    }
+
+    // GET /subjects/{subjectId}/notes?limit=&after= - Keyset page ({items, next})
     @GetMapping
-    public ResponseEntity<?> getBySubject(@PathVariable Long subjectId) {
+    public Callable<ResponseEntity<?>> getPage(
+            @PathVariable Long subjectId,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) String after) {
+        return () -> {
+            try {
+                int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+                NotePage page = noteService.getPage(subjectId, after, size);
+                return ResponseEntity.ok(page);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+            } catch (Exception e) {
+                return ResponseEntity.status(404).body(Map.of("message", e.getMessage()));
+            }
+        };
+    }
+
+    // GET /subjects/{subjectId}/notes/{id} - Get specific note
+    @GetMapping("/{id}")
+    public Callable<ResponseEntity<?>> getById(@PathVariable Long subjectId, @PathVariable String id) {
+        return () -> {
+            try {
+                NoteResponse note = noteService.getById(id);
+                return ResponseEntity.ok(note);
+            } catch (Exception e) {
+                return ResponseEntity.status(404).body(Map.of("message", e.getMessage()));
+            }
+        };
+    }
+
+    // GET /subjects/{subjectId}/notes/{id}/content - Stream the note's file (Range and conditional GET aware)
+    @GetMapping("/{id}/content")
+    public void getContent(@PathVariable Long subjectId, @PathVariable String id,
+                           HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String path;
         try {
-            List<NoteResponse> notes = noteService.getBySubjectId(subjectId);
-            return ResponseEntity.ok(notes);
+            path = noteService.getFilePath(subjectId, id);
         } catch (Exception e) {
-            return ResponseEntity.status(404).body(Map.of("message", e.getMessage()));
+            response.sendError(404);
+            return;
         }
+        contentStreamer.stream(path, request, response);
     }
 
-    // GET /subjects/{subjectId}/notes/{id} - Get specific note
-    @GetMapping("/{id}")
-    public ResponseEntity<?> getById(@PathVariable Long subjectId, @PathVariable String id) {
+    // GET /subjects/{subjectId}/notes/{id}/preview - Page count and processing status
+    @GetMapping("/{id}/preview")
+    public Callable<ResponseEntity<?>> getPreview(@PathVariable Long subjectId, @PathVariable String id) {
+        return () -> {
+            try {
+                return ResponseEntity.ok(pipelineService.getPreview(subjectId, id));
+            } catch (Exception e) {
+                return ResponseEntity.status(404).body(Map.of("message", e.getMessage()));
+            }
+        };
+    }
+
+    // GET /subjects/{subjectId}/notes/{id}/thumbnail - First-page thumbnail (PNG)
+    @GetMapping("/{id}/thumbnail")
+    public void getThumbnail(@PathVariable Long subjectId, @PathVariable String id,
+                             HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String path;
         try {
-            NoteResponse note = noteService.getById(id);
-            return ResponseEntity.ok(note);
+            path = pipelineService.getThumbnailPath(subjectId, id);
         } catch (Exception e) {
-            return ResponseEntity.status(404).body(Map.of("message", e.getMessage()));
+            response.sendError(404);
+            return;
         }
+        contentStreamer.stream(path, request, response);
     }
 
     // POST /subjects/{subjectId}/notes - Upload a new note (ADMIN only)
     @PostMapping
+    @RequiresRole("ADMIN")
     public ResponseEntity<?> create(
             @PathVariable Long subjectId,
             @RequestParam("title") String title,
-            @RequestParam("file") MultipartFile file,
-            Authentication auth) {
-        
-        if (!auth.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN"))) {
-            return ResponseEntity.status(403).body(Map.of("message", "Admins only"));
-        }
-        
+            @RequestParam("file") MultipartFile file) {
         try {
             NoteResponse note = noteService.create(subjectId, title, file);
             return ResponseEntity.ok(note);
@@ -70,17 +137,29 @@ public class NoteController {
         }
     }
 
+    // POST /subjects/{subjectId}/notes/bulk - Upload many files and/or ZIP archives at once (ADMIN only)
+    // Titles are taken from the file names; the response has one result per file
+    @PostMapping("/bulk")
+    @RequiresRole("ADMIN")
+    public ResponseEntity<?> createBulk(
+            @PathVariable Long subjectId,
+            @RequestParam("files") List<MultipartFile> files) {
+        try {
+            List<BulkUploadResult> results = noteService.createBulk(subjectId, files);
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Map.of("message", e.getMessage()));
+        }
+    }
+
     // DELETE /subjects/{subjectId}/notes/{id} - Delete note (ADMIN only)
     @DeleteMapping("/{id}")
+    @RequiresRole("ADMIN")
     public ResponseEntity<?> delete(
             @PathVariable Long subjectId, 
-            @PathVariable String id, 
-            Authentication auth) {
-        
-        if (!auth.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN"))) {
-            return ResponseEntity.status(403).body(Map.of("message", "Admins only"));
-        }
-        
+            @PathVariable String id) {
         try {
             noteService.delete(id);
             return ResponseEntity.ok(Map.of("message", "Deleted successfully"));
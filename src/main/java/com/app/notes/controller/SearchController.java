@@ -0,0 +1,42 @@
+package com.app.notes.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.app.notes.dto.SearchResult;
+import com.app.notes.service.SearchService;
+
+@RestController
+@RequestMapping("/search")
+public class SearchController {
+
+    private static final int MAX_RESULTS = 50;
+
+    private final SearchService searchService;
+
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    // GET /search?q=...&limit=20 - Search note titles, subjects and streams (prefix + fuzzy)
+    @GetMapping
+    public ResponseEntity<?> search(
+            @RequestParam("q") String q,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Query is required"));
+        }
+        try {
+            List<SearchResult> results = searchService.search(q, Math.max(1, Math.min(limit, MAX_RESULTS)));
+            return ResponseEntity.ok(results);
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Map.of("message", e.getMessage()));
+        }
+    }
+}
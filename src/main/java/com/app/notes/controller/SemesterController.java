@@ -2,10 +2,9 @@ package com.app.notes.controller;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -14,6 +13,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.app.notes.config.RequiresRole;
 import com.app.notes.model.Semester;
 import com.app.notes.service.SemesterService;
 
@@ -29,33 +29,34 @@ public class SemesterController {
 
     // GET /streams/{streamId}/semesters - Get all semesters for a stream
     @GetMapping
-    public ResponseEntity<?> getByStream(@PathVariable Long streamId) {
-        try {
-            List<Semester> semesters = semesterService.getByStreamId(streamId);
-            return ResponseEntity.ok(semesters);
-        } catch (Exception e) {
-            return ResponseEntity.status(404).body(Map.of("message", e.getMessage()));
-        }
+    public Callable<ResponseEntity<?>> getByStream(@PathVariable Long streamId) {
+        return () -> {
+            try {
+                List<Semester> semesters = semesterService.getByStreamId(streamId);
+                return ResponseEntity.ok(semesters);
+            } catch (Exception e) {
+                return ResponseEntity.status(404).body(Map.of("message", e.getMessage()));
+            }
+        };
     }
 
     // GET /streams/{streamId}/semesters/{id} - Get specific semester
     @GetMapping("/{id}")
-    public ResponseEntity<?> getById(@PathVariable Long streamId, @PathVariable Long id) {
-        try {
-            Semester semester = semesterService.getById(id);
-            return ResponseEntity.ok(semester);
-        } catch (Exception e) {
-            return ResponseEntity.status(404).body(Map.of("message", e.getMessage()));
-        }
+    public Callable<ResponseEntity<?>> getById(@PathVariable Long streamId, @PathVariable Long id) {
+        return () -> {
+            try {
+                Semester semester = semesterService.getById(id);
+                return ResponseEntity.ok(semester);
+            } catch (Exception e) {
+                return ResponseEntity.status(404).body(Map.of("message", e.getMessage()));
+            }
+        };
     }
 
     // POST /streams/{streamId}/semesters - Create new semester (ADMIN only)
     @PostMapping
-    public ResponseEntity<?> create(@PathVariable Long streamId, @RequestBody Map<String, Integer> body, Authentication auth) {
-        if (!auth.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN"))) {
-            return ResponseEntity.status(403).body(Map.of("message", "Admins only"));
-        }
-        
+    @RequiresRole("ADMIN")
+    public ResponseEntity<?> create(@PathVariable Long streamId, @RequestBody Map<String, Integer> body) {
         Integer number = body.get("number");
         if (number == null) {
             return ResponseEntity.badRequest().body(Map.of("message", "Semester number is required"));
@@ -71,11 +72,8 @@ public class SemesterController {
 
     // DELETE /streams/{streamId}/semesters/{id} - Delete semester (ADMIN only)
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> delete(@PathVariable Long streamId, @PathVariable Long id, Authentication auth) {
-        if (!auth.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN"))) {
-            return ResponseEntity.status(403).body(Map.of("message", "Admins only"));
-        }
-        
+    @RequiresRole("ADMIN")
+    public ResponseEntity<?> delete(@PathVariable Long streamId, @PathVariable Long id) {
         try {
             semesterService.delete(id);
             return ResponseEntity.ok(Map.of("message", "Deleted successfully"));
@@ -0,0 +1,80 @@
+package com.app.notes.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.app.notes.config.RateLimitFilter;
+import com.app.notes.config.RequiresRole;
+import com.app.notes.service.AuthService;
+import com.app.notes.service.EntityCacheService;
+import com.app.notes.service.InvalidationBus;
+import com.app.notes.service.NotePipelineService;
+import com.app.notes.service.TokenDenylist;
+
+// Operational counters; they reveal load, limits and cache layout, so admins only
+@RestController
+@RequestMapping("/stats")
+public class StatsController {
+
+    private final NotePipelineService pipelineService;
+    private final EntityCacheService entityCache;
+    private final InvalidationBus invalidationBus;
+    private final AuthService authService;
+    private final TokenDenylist tokenDenylist;
+    private final RateLimitFilter rateLimitFilter;
+
+    public StatsController(NotePipelineService pipelineService, EntityCacheService entityCache,
+                           InvalidationBus invalidationBus, AuthService authService, TokenDenylist tokenDenylist,
+                           RateLimitFilter rateLimitFilter) {
+        this.pipelineService = pipelineService;
+        this.entityCache = entityCache;
+        this.invalidationBus = invalidationBus;
+        this.authService = authService;
+        this.tokenDenylist = tokenDenylist;
+        this.rateLimitFilter = rateLimitFilter;
+    }
+
+    // GET /stats/pipeline - Queue depth, throughput and per-stage latency of PDF processing
+    @GetMapping("/pipeline")
+    @RequiresRole("ADMIN")
+    public ResponseEntity<?> getPipelineStats() {
+        return ResponseEntity.ok(pipelineService.getStats());
+    }
+
+    // GET /stats/cache - Second-level cache hit ratios per region, plus JDBC statements issued
+    @GetMapping("/cache")
+    @RequiresRole("ADMIN")
+    public ResponseEntity<?> getCacheStats() {
+        return ResponseEntity.ok(entityCache.getStats());
+    }
+
+    // GET /stats/invalidation - Cache invalidation events sent to and received from other nodes
+    @GetMapping("/invalidation")
+    @RequiresRole("ADMIN")
+    public ResponseEntity<?> getInvalidationStats() {
+        return ResponseEntity.ok(invalidationBus.getStats());
+    }
+
+    // GET /stats/login - Password pool load and verify latency, login throttle counters
+    @GetMapping("/login")
+    @RequiresRole("ADMIN")
+    public ResponseEntity<?> getLoginStats() {
+        return ResponseEntity.ok(authService.getStats());
+    }
+
+    // GET /stats/tokens - Revoked tokens and banned users held in memory, checks and rejections
+    @GetMapping("/tokens")
+    @RequiresRole("ADMIN")
+    public ResponseEntity<?> getTokenStats() {
+        return ResponseEntity.ok(tokenDenylist.getStats());
+    }
+
+    // GET /stats/ratelimit - Admitted and refused requests per route, in-flight counts and tracked clients
+    @GetMapping("/ratelimit")
+    @RequiresRole("ADMIN")
+    public ResponseEntity<?> getRateLimitStats() {
+        return ResponseEntity.ok(rateLimitFilter.getStats());
+    }
+}
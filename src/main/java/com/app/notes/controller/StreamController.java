@@ -1,11 +1,10 @@
 package com.app.notes.controller;
 
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,8 +12,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.app.notes.config.RequiresRole;
 import com.app.notes.model.Stream;
+import com.app.notes.service.CatalogService;
 import com.app.notes.service.StreamService;
 
 @RestController
@@ -22,36 +24,43 @@ import com.app.notes.service.StreamService;
 public class StreamController {
 
     private final StreamService streamService;
+    private final CatalogService catalogService;
 
-    public StreamController(StreamService streamService) {
+    public StreamController(StreamService streamService, CatalogService catalogService) {
         this.streamService = streamService;
+        this.catalogService = catalogService;
     }
 
-    // GET /streams - Get all streams
+    // GET /streams - Get all streams (full tree, served from the catalog snapshot)
     @GetMapping
-    public ResponseEntity<?> getAll() {
-        List<Stream> streams = streamService.getAll();
-        return ResponseEntity.ok(streams);
+    public ResponseEntity<?> getAll(WebRequest request) {
+        CatalogService.Snapshot snapshot = catalogService.getSnapshot();
+        if (request.checkNotModified(snapshot.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+            .eTag(snapshot.etag())
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(snapshot.body());
     }
 
     // GET /streams/{id} - Get specific stream // not being used !!!!
     @GetMapping("/{id}")
-    public ResponseEntity<?> getById(@PathVariable Long id) {
-        try {
-            Stream stream = streamService.getById(id);
-            return ResponseEntity.ok(stream);
-        } catch (Exception e) {
-            return ResponseEntity.status(404).body(Map.of("message", e.getMessage()));
-        }
+    public Callable<ResponseEntity<?>> getById(@PathVariable Long id) {
+        return () -> {
+            try {
+                Stream stream = streamService.getById(id);
+                return ResponseEntity.ok(stream);
+            } catch (Exception e) {
+                return ResponseEntity.status(404).body(Map.of("message", e.getMessage()));
+            }
+        };
     }
 
     // POST /streams - Create new stream (ADMIN only)
     @PostMapping
-    public ResponseEntity<?> create(@RequestBody Map<String, String> body, Authentication auth) {
-        if (!auth.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN"))) {
-            return ResponseEntity.status(403).body(Map.of("message", "Admins only"));
-        }
-        
+    @RequiresRole("ADMIN")
+    public ResponseEntity<?> create(@RequestBody Map<String, String> body) {
         String name = body.get("name");
         if (name == null || name.isEmpty()) {
             return ResponseEntity.badRequest().body(Map.of("message", "Name is required"));
@@ -64,11 +73,8 @@ public class StreamController {
 
     // DELETE /streams/{id} - Delete stream (ADMIN only)
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> delete(@PathVariable Long id, Authentication auth) {
-        if (!auth.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN"))) {
-            return ResponseEntity.status(403).body(Map.of("message", "Admins only"));
-        }
-        
+    @RequiresRole("ADMIN")
+    public ResponseEntity<?> delete(@PathVariable Long id) {
         try {
             streamService.delete(id);
             return ResponseEntity.ok(Map.of("message", "Deleted successfully"));
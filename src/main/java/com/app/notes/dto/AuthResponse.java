@@ -1,3 +1,3 @@
 package com.app.notes.dto;
 
-public record AuthResponse(String accessToken, long expiresIn, String role) {}
+public record AuthResponse(String accessToken, long expiresIn, String role, String refreshToken) {}
@@ -0,0 +1,9 @@
+package com.app.notes.dto;
+
+// Outcome for one file of a bulk upload; note is null when it failed
+public record BulkUploadResult(
+    String fileName,
+    boolean success,
+    NoteResponse note,
+    String error
+) {}
@@ -0,0 +1,7 @@
+package com.app.notes.dto;
+
+public record CatalogNote(
+    String id,
+    String title,
+    String fileUrl
+) {}
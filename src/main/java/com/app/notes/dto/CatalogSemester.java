@@ -0,0 +1,9 @@
+package com.app.notes.dto;
+
+import java.util.List;
+
+public record CatalogSemester(
+    Long id,
+    Integer number,
+    List<CatalogSubject> subjects
+) {}
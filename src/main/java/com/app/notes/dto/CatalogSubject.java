@@ -0,0 +1,9 @@
+package com.app.notes.dto;
+
+import java.util.List;
+
+public record CatalogSubject(
+    Long id,
+    String name,
+    List<CatalogNote> notes
+) {}
@@ -0,0 +1,9 @@
+package com.app.notes.dto;
+
+import java.util.List;
+
+// One page of notes; pass next as ?after= to fetch the following page (null on the last page)
+public record NotePage(
+    List<NoteResponse> items,
+    String next
+) {}
@@ -0,0 +1,8 @@
+package com.app.notes.dto;
+
+public record NotePreview(
+    String noteId,
+    String status,
+    Integer pageCount,
+    boolean hasThumbnail
+) {}
@@ -1,9 +1,12 @@
 package com.app.notes.dto;
 
+import java.time.Instant;
+
 public record NoteResponse(
     String id,
     String title,
     String fileUrl,
     Long subjectId,
-    String subjectName
+    String subjectName,
+    Instant createdAt
 ) {}
@@ -0,0 +1,3 @@
+package com.app.notes.dto;
+
+public record RefreshRequest(String refreshToken) {}
@@ -0,0 +1,16 @@
+package com.app.notes.dto;
+
+// type is "note", "subject" or "stream"; fields below the matched level are null
+public record SearchResult(
+    String type,
+    String id,
+    String title,
+    String fileUrl,
+    Long subjectId,
+    String subjectName,
+    Long semesterId,
+    Integer semesterNumber,
+    Long streamId,
+    String streamName,
+    float score
+) {}
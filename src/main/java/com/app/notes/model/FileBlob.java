@@ -0,0 +1,80 @@
+package com.app.notes.model;
+
+import java.time.Instant;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+
+// One stored object, identified by the SHA-256 of its bytes and shared by every note that uploaded them
+@Entity
+@Table(name = "file_blob")
+public class FileBlob implements Persistable<String> {
+
+    @Id
+    @Column(length = 64)
+    private String digest;
+
+    @Column(nullable = false)
+    private String path;
+
+    private long size;
+    private String contentType;
+
+    // Notes (and direct uploads) pointing at this blob; the object is deleted when it reaches zero
+    private int refCount;
+
+    private Instant createdAt;
+
+    // Always INSERT new blobs so a concurrent upload of the same bytes fails on the key instead of merging
+    @Transient
+    private boolean isNew = true;
+
+    public FileBlob() {}
+
+    public FileBlob(String digest, String path, long size, String contentType) {
+        this.digest = digest;
+        this.path = path;
+        this.size = size;
+        this.contentType = contentType;
+        this.refCount = 1;
+        this.createdAt = Instant.now();
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public String getId() { return digest; }
+
+    @Override
+    public boolean isNew() { return isNew; }
+
+    // Getters and setters
+    public String getDigest() { return digest; }
+    public void setDigest(String digest) { this.digest = digest; }
+
+    public String getPath() { return path; }
+    public void setPath(String path) { this.path = path; }
+
+    public long getSize() { return size; }
+    public void setSize(long size) { this.size = size; }
+
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+
+    public int getRefCount() { return refCount; }
+    public void setRefCount(int refCount) { this.refCount = refCount; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,43 @@
+package com.app.notes.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// Outbox row for the cache invalidation bus; every node polls for ids above the last one it saw
+@Entity
+@Table(name = "invalidation_outbox")
+public class InvalidationRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    public InvalidationRecord() {}
+
+    public InvalidationRecord(String payload) {
+        this.payload = payload;
+        this.createdAt = Instant.now();
+    }
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getPayload() { return payload; }
+    public void setPayload(String payload) { this.payload = payload; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
@@ -1,15 +1,27 @@
 package com.app.notes.model;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(indexes = @Index(name = "idx_note_subject_created", columnList = "subject_id, created_at, id"))
 public class Note {
 
     @Id
@@ -19,6 +31,19 @@ public class Note {
     private String title;
     private String fileUrl;
 
+    // Storage object path behind fileUrl (null for notes uploaded before it was recorded)
+    @JsonIgnore
+    private String filePath;
+
+    // SHA-256 of the file; the FileBlob holding it is shared with other notes that uploaded the same bytes
+    @JsonIgnore
+    @Column(length = 64)
+    private String blobDigest;
+
+    // Keyset pagination orders by (createdAt, id)
+    @Column(name = "created_at", updatable = false)
+    private Instant createdAt;
+
     @ManyToOne
     @JoinColumn(name = "subject_id")
     @JsonIgnore
@@ -32,6 +57,12 @@ public class Note {
         this.subject = subject;
     }
 
+    @PrePersist
+    void onCreate() {
+        // MySQL DATETIME(6) keeps microseconds; match it so cursors round-trip exactly
+        if (createdAt == null) createdAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
     // Getters and setters
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
@@ -42,6 +73,15 @@ public class Note {
     public String getFileUrl() { return fileUrl; }
     public void setFileUrl(String fileUrl) { this.fileUrl = fileUrl; }
 
+    public String getFilePath() { return filePath; }
+    public void setFilePath(String filePath) { this.filePath = filePath; }
+
+    public String getBlobDigest() { return blobDigest; }
+    public void setBlobDigest(String blobDigest) { this.blobDigest = blobDigest; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
     public Subject getSubject() { return subject; }
     public void setSubject(Subject subject) { this.subject = subject; }
 }
@@ -0,0 +1,65 @@
+package com.app.notes.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+
+// Data derived from a note's PDF by the background pipeline; kept apart so note listings never load the text
+@Entity
+public class NoteContent {
+
+    public static final String PENDING = "PENDING";
+    public static final String DONE = "DONE";
+    public static final String SKIPPED = "SKIPPED";
+    public static final String FAILED = "FAILED";
+
+    @Id
+    private String noteId;
+
+    @Column(nullable = false)
+    private String status;
+
+    private Integer pageCount;
+
+    @Lob
+    @Column(columnDefinition = "MEDIUMTEXT")
+    private String text;
+
+    private String thumbnailPath;
+
+    private String error;
+
+    private Instant processedAt;
+
+    public NoteContent() {}
+
+    public NoteContent(String noteId, String status) {
+        this.noteId = noteId;
+        this.status = status;
+    }
+
+    // Getters and setters
+    public String getNoteId() { return noteId; }
+    public void setNoteId(String noteId) { this.noteId = noteId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Integer getPageCount() { return pageCount; }
+    public void setPageCount(Integer pageCount) { this.pageCount = pageCount; }
+
+    public String getText() { return text; }
+    public void setText(String text) { this.text = text; }
+
+    public String getThumbnailPath() { return thumbnailPath; }
+    public void setThumbnailPath(String thumbnailPath) { this.thumbnailPath = thumbnailPath; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public Instant getProcessedAt() { return processedAt; }
+    public void setProcessedAt(Instant processedAt) { this.processedAt = processedAt; }
+}
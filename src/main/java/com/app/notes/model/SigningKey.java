@@ -0,0 +1,77 @@
+package com.app.notes.model;
+
+import java.time.Instant;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+
+// One JWT signing key pair (base64 PKCS#8 / X.509); the newest signs, all unexpired ones verify
+@Entity
+@Table(name = "jwt_signing_keys")
+public class SigningKey implements Persistable<String> {
+
+    @Id
+    @Column(length = 64)
+    private String kid;
+
+    @Column(nullable = false, length = 16)
+    private String algorithm;
+
+    @Column(nullable = false, length = 1024)
+    private String privateKey;
+
+    @Column(nullable = false, length = 1024)
+    private String publicKey;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    // Always INSERT so two nodes rotating at once collide on the kid instead of overwriting each other
+    @Transient
+    private boolean isNew = true;
+
+    public SigningKey() {}
+
+    public SigningKey(String kid, String algorithm, String privateKey, String publicKey) {
+        this.kid = kid;
+        this.algorithm = algorithm;
+        this.privateKey = privateKey;
+        this.publicKey = publicKey;
+        this.createdAt = Instant.now();
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public String getId() { return kid; }
+
+    @Override
+    public boolean isNew() { return isNew; }
+
+    // Getters and setters
+    public String getKid() { return kid; }
+    public void setKid(String kid) { this.kid = kid; }
+
+    public String getAlgorithm() { return algorithm; }
+    public void setAlgorithm(String algorithm) { this.algorithm = algorithm; }
+
+    public String getPrivateKey() { return privateKey; }
+    public void setPrivateKey(String privateKey) { this.privateKey = privateKey; }
+
+    public String getPublicKey() { return publicKey; }
+    public void setPublicKey(String publicKey) { this.publicKey = publicKey; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,84 @@
+package com.app.notes.model;
+
+import java.time.Instant;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+
+// A revoked token (id = its jti) or a banned user (id = "user:" + email); kept until every token it covers has expired
+@Entity
+@Table(name = "token_revocations", indexes = @Index(name = "idx_token_revocation_updated", columnList = "updated_at"))
+public class TokenRevocation implements Persistable<String> {
+
+    public static final String USER_PREFIX = "user:";
+
+    @Id
+    @Column(length = 320)
+    private String id;
+
+    @Column(nullable = false)
+    private String subject;
+
+    // For a user: tokens issued at or before this instant are rejected
+    @Column(nullable = false)
+    private Instant revokedAt;
+
+    // null while a user is banned
+    private Instant expiresAt;
+
+    // Last insert or update; nodes poll for rows changed since their previous look
+    private Instant updatedAt;
+
+    // New rows are always INSERTed, so the first of two concurrent revocations of a token wins the key
+    // and the other fails instead of silently overwriting it
+    @Transient
+    private boolean isNew = true;
+
+    public TokenRevocation() {}
+
+    public TokenRevocation(String id, String subject, Instant revokedAt, Instant expiresAt) {
+        this.id = id;
+        this.subject = subject;
+        this.revokedAt = revokedAt;
+        this.expiresAt = expiresAt;
+        this.updatedAt = revokedAt;
+    }
+
+    public boolean isUser() {
+        return id.startsWith(USER_PREFIX);
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public boolean isNew() { return isNew; }
+
+    // Getters and setters
+    @Override
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getSubject() { return subject; }
+    public void setSubject(String subject) { this.subject = subject; }
+
+    public Instant getRevokedAt() { return revokedAt; }
+    public void setRevokedAt(Instant revokedAt) { this.revokedAt = revokedAt; }
+
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+}
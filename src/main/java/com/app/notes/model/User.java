@@ -1,14 +1,17 @@
 package com.app.notes.model;
 
+import java.time.Instant;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_created", columnList = "created_at"))
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -24,6 +27,9 @@ public class User {
     
     @Column(nullable = false)
     private String role; // ADMIN or USER
+
+    // Null for users from before the column existed, or inserted directly into the database
+    private Instant createdAt;
     
     // Constructors
     public User() {}
@@ -33,6 +39,7 @@ public class User {
         this.email = email;
         this.password = password;
         this.role = role;
+        this.createdAt = Instant.now();
     }
     
     // Getters and Setters
@@ -75,4 +82,12 @@ public class User {
     public void setRole(String role) {
         this.role = role;
     }
+    
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
 }
@@ -0,0 +1,38 @@
+package com.app.notes.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.notes.model.FileBlob;
+
+import jakarta.persistence.LockModeType;
+
+public interface FileBlobRepository extends JpaRepository<FileBlob, String> {
+
+    // Take a reference on an existing, referenced blob; returns 0 if there is no such blob
+    @Modifying
+    @Transactional
+    @Query("update FileBlob b set b.refCount = b.refCount + 1 where b.digest = :digest and b.refCount > 0")
+    int retain(@Param("digest") String digest);
+
+    // Take back a blob whose last reference was released before its object and row are deleted
+    @Modifying
+    @Transactional
+    @Query("update FileBlob b set b.refCount = 1 where b.digest = :digest and b.refCount = 0")
+    int reclaim(@Param("digest") String digest);
+
+    @Query("select b.digest from FileBlob b where b.refCount <= 0")
+    List<String> findUnreferencedDigests();
+
+    // Row-locked read used by release so a concurrent retain waits for the delete decision
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from FileBlob b where b.digest = :digest")
+    Optional<FileBlob> findForUpdate(@Param("digest") String digest);
+}
@@ -0,0 +1,27 @@
+package com.app.notes.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.notes.model.InvalidationRecord;
+
+public interface InvalidationRecordRepository extends JpaRepository<InvalidationRecord, Long> {
+
+    @Query("select r from InvalidationRecord r where r.id > :after order by r.id")
+    List<InvalidationRecord> findAfter(@Param("after") Long after, Pageable limit);
+
+    @Query("select coalesce(max(r.id), 0) from InvalidationRecord r")
+    Long findMaxId();
+
+    @Modifying
+    @Transactional
+    @Query("delete from InvalidationRecord r where r.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") Instant cutoff);
+}
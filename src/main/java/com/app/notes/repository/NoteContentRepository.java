@@ -0,0 +1,16 @@
+package com.app.notes.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.app.notes.model.NoteContent;
+
+public interface NoteContentRepository extends JpaRepository<NoteContent, String> {
+
+    // Notes the pipeline has not finished with (never seen, or interrupted mid-way)
+    @Query("select n.id from Note n where not exists "
+         + "(select c.noteId from NoteContent c where c.noteId = n.id and c.status <> 'PENDING')")
+    List<String> findUnprocessedNoteIds();
+}
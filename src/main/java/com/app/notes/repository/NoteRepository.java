@@ -1,13 +1,84 @@
 package com.app.notes.repository;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.app.notes.dto.NoteResponse;
 import com.app.notes.model.Note;
 
 @Repository
 public interface NoteRepository extends JpaRepository<Note, String> {
     List<Note> findBySubjectId(Long subjectId);
+
+    // A note only under its own subject's URL
+    Optional<Note> findByIdAndSubjectId(String id, Long subjectId);
+
+    boolean existsByIdAndSubjectId(String id, Long subjectId);
+
+    // Projections straight into NoteResponse: one query, no managed entities
+    @Query("select new com.app.notes.dto.NoteResponse(n.id, n.title, n.fileUrl, s.id, s.name, n.createdAt) "
+         + "from Note n join n.subject s where s.id = :subjectId order by n.createdAt, n.id")
+    List<NoteResponse> findResponsesBySubjectId(@Param("subjectId") Long subjectId);
+
+
+    @Query("select new com.app.notes.dto.NoteResponse(n.id, n.title, n.fileUrl, s.id, s.name, n.createdAt) "
+         + "from Note n left join n.subject s where n.id = :id")
+    Optional<NoteResponse> findResponseById(@Param("id") String id);
+
+    // Search rows: id, title, fileUrl, subject id/name, semester id/number, stream id/name, extracted text
+    @Query("select n.id, n.title, n.fileUrl, s.id, s.name, sem.id, sem.number, st.id, st.name, c.text "
+         + "from Note n join n.subject s join s.semester sem join sem.stream st "
+         + "left join NoteContent c on c.noteId = n.id")
+    List<Object[]> findSearchRows();
+
+    // Keyset pages over idx_note_subject_created; the Pageable only carries the limit
+    @Query("select new com.app.notes.dto.NoteResponse(n.id, n.title, n.fileUrl, s.id, s.name, n.createdAt) "
+         + "from Note n join n.subject s where s.id = :subjectId order by n.createdAt, n.id")
+    List<NoteResponse> findFirstPage(@Param("subjectId") Long subjectId, Pageable limit);
+
+    @Query("select new com.app.notes.dto.NoteResponse(n.id, n.title, n.fileUrl, s.id, s.name, n.createdAt) "
+         + "from Note n join n.subject s where s.id = :subjectId "
+         + "and (n.createdAt > :createdAt or (n.createdAt = :createdAt and n.id > :id)) "
+         + "order by n.createdAt, n.id")
+    List<NoteResponse> findPageAfter(@Param("subjectId") Long subjectId,
+                                     @Param("createdAt") Instant createdAt,
+                                     @Param("id") String id,
+                                     Pageable limit);
+
+    // Notes created before createdAt existed sort first
+    @Modifying
+    @Query("update Note n set n.createdAt = :createdAt where n.createdAt is null")
+    int backfillCreatedAt(@Param("createdAt") Instant createdAt);
+
+    // Catalog rows: id, title, fileUrl, subject id
+    @Query("select n.id, n.title, n.fileUrl, n.subject.id from Note n order by n.id")
+    List<Object[]> findCatalogRows();
+
+    // Blob references held by the notes a hierarchy delete is about to cascade to (one entry per note)
+    @Query("select n.blobDigest from Note n where n.subject.id = :subjectId and n.blobDigest is not null")
+    List<String> findBlobDigestsBySubjectId(@Param("subjectId") Long subjectId);
+
+    @Query("select n.blobDigest from Note n where n.subject.semester.id = :semesterId and n.blobDigest is not null")
+    List<String> findBlobDigestsBySemesterId(@Param("semesterId") Long semesterId);
+
+    @Query("select n.blobDigest from Note n where n.subject.semester.stream.id = :streamId and n.blobDigest is not null")
+    List<String> findBlobDigestsByStreamId(@Param("streamId") Long streamId);
+
+    // Notes a hierarchy delete is about to cascade to, for their extracted content and thumbnails
+    @Query("select n.id from Note n where n.subject.id = :subjectId")
+    List<String> findIdsBySubjectId(@Param("subjectId") Long subjectId);
+
+    @Query("select n.id from Note n where n.subject.semester.id = :semesterId")
+    List<String> findIdsBySemesterId(@Param("semesterId") Long semesterId);
+
+    @Query("select n.id from Note n where n.subject.semester.stream.id = :streamId")
+    List<String> findIdsByStreamId(@Param("streamId") Long streamId);
 }
@@ -2,10 +2,21 @@ package com.app.notes.repository;
 
 import java.util.List;
 
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.app.notes.model.Semester;
 
+import jakarta.persistence.QueryHint;
+
 public interface SemesterRepository extends JpaRepository<Semester, Long> {
+    // Served from the query cache; Hibernate invalidates it on any write to the semester table
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Semester> findByStreamId(Long streamId);
+
+    // Catalog rows: id, number, stream id
+    @Query("select s.id, s.number, s.stream.id from Semester s order by s.id")
+    List<Object[]> findCatalogRows();
 }
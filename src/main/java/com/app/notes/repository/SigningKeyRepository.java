@@ -0,0 +1,23 @@
+package com.app.notes.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.notes.model.SigningKey;
+
+public interface SigningKeyRepository extends JpaRepository<SigningKey, String> {
+
+    @Query("select k from SigningKey k where k.algorithm = :algorithm and k.createdAt > :after order by k.createdAt desc")
+    List<SigningKey> findNewerThan(@Param("algorithm") String algorithm, @Param("after") Instant after);
+
+    @Modifying
+    @Transactional
+    @Query("delete from SigningKey k where k.createdAt <= :cutoff")
+    int deleteOlderThan(@Param("cutoff") Instant cutoff);
+}
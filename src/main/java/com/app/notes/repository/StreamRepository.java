@@ -1,8 +1,23 @@
 package com.app.notes.repository;
 
+import java.util.List;
+
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.app.notes.model.Stream;
 
+import jakarta.persistence.QueryHint;
+
 public interface StreamRepository extends JpaRepository<Stream, Long> {
+
+    // Served from the query cache; Hibernate invalidates it on any write to the stream table
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<Stream> findAll();
+
+    // Catalog rows: id, name
+    @Query("select s.id, s.name from Stream s order by s.id")
+    List<Object[]> findCatalogRows();
 }
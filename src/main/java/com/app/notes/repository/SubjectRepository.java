@@ -2,10 +2,26 @@ package com.app.notes.repository;
 
 import java.util.List;
 
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.app.notes.model.Subject;
 
+import jakarta.persistence.QueryHint;
+
 public interface SubjectRepository extends JpaRepository<Subject, Long> {
+    // Served from the query cache; Hibernate invalidates it on any write to the subject table
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Subject> findBySemesterId(Long semesterId);
+
+    // Catalog rows: id, name, semester id
+    @Query("select s.id, s.name, s.semester.id from Subject s order by s.id")
+    List<Object[]> findCatalogRows();
+
+    // Search rows: id, name, semester id/number, stream id/name
+    @Query("select s.id, s.name, sem.id, sem.number, st.id, st.name "
+         + "from Subject s join s.semester sem join sem.stream st")
+    List<Object[]> findSearchRows();
 }
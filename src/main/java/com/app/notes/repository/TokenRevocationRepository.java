@@ -0,0 +1,26 @@
+package com.app.notes.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.notes.model.TokenRevocation;
+
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, String> {
+
+    @Query("select r from TokenRevocation r where r.expiresAt is null or r.expiresAt > :now")
+    List<TokenRevocation> findActive(@Param("now") Instant now);
+
+    @Query("select r from TokenRevocation r where r.updatedAt > :since")
+    List<TokenRevocation> findUpdatedSince(@Param("since") Instant since);
+
+    @Modifying
+    @Transactional
+    @Query("delete from TokenRevocation r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -2,12 +2,30 @@ package com.app.notes.repository;
 
 import com.app.notes.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @Query("select u.email from User u")
+    List<String> findAllEmails();
+
+    @Query("select u.email from User u where u.createdAt > :since")
+    List<String> findEmailsCreatedSince(@Param("since") Instant since);
+
+    // Replace the stored password only if nobody changed it since it was read
+    @Modifying
+    @Transactional
+    @Query("update User u set u.password = :hash where u.id = :id and u.password = :current")
+    int updatePassword(@Param("id") Long id, @Param("current") String current, @Param("hash") String hash);
 }
@@ -1,5 +1,9 @@
 package com.app.notes.service;
 
+import java.util.concurrent.CompletableFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import com.app.notes.model.User;
@@ -7,29 +11,114 @@ import com.app.notes.repository.UserRepository;
 
 @Service
 public class AuthService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
     
+    public record LoginStats(PasswordService.PasswordStats hashing, LoginThrottle.ThrottleStats throttle,
+                             UserCredentialCache.UserCacheStats users) {}
+
     private final UserRepository userRepository;
+    private final UserCredentialCache userCache;
+    private final PasswordService passwordService;
+    private final LoginThrottle throttle;
+    private final InvalidationBus invalidationBus;
+    private final TokenDenylist denylist;
     
-    public AuthService(UserRepository userRepository) {
+    public AuthService(UserRepository userRepository, UserCredentialCache userCache, PasswordService passwordService,
+                       LoginThrottle throttle, InvalidationBus invalidationBus, TokenDenylist denylist) {
         this.userRepository = userRepository;
+        this.userCache = userCache;
+        this.passwordService = passwordService;
+        this.throttle = throttle;
+        this.invalidationBus = invalidationBus;
+        this.denylist = denylist;
     }
 
-    public String roleFor(String email, String password) {
+    // Completes with the user's role, or null for bad credentials; verification runs on the password pool.
+    // Fails with LoginThrottledException, or RejectedExecutionException when the pool is saturated
+    public CompletableFuture<String> login(String email, String password, String clientIp) {
+        // Banned users get the same answer as a wrong password
+        boolean banned = denylist.isBanned(email);
+
         // Check hardcoded demo users first
-        if ("admin@example.com".equalsIgnoreCase(email) && "1234".equals(password))
-            return "ADMIN";
-        if ("user@example.com".equalsIgnoreCase(email) && "1234".equals(password))
-            return "USER";
-        
-        // Check database users
-        return userRepository.findByEmail(email)
-                .filter(user -> user.getPassword().equals(password))
-                .map(User::getRole)
-                .orElse(null);
+        if (!banned && "admin@example.com".equalsIgnoreCase(email) && "1234".equals(password))
+            return CompletableFuture.completedFuture("ADMIN");
+        if (!banned && "user@example.com".equalsIgnoreCase(email) && "1234".equals(password))
+            return CompletableFuture.completedFuture("USER");
+
+        long retryAfter = throttle.tryAcquire(email, clientIp);
+        if (retryAfter > 0) {
+            return CompletableFuture.failedFuture(new LoginThrottledException(retryAfter));
+        }
+
+        // Check database users. Unknown and banned emails still pay for a BCrypt verify,
+        // so response time doesn't tell them apart from a wrong password
+        UserCredentialCache.Credentials user = banned ? null : userCache.find(email).orElse(null);
+        if (user == null) {
+            return passwordService.verifyDummy(password).thenApply(matches -> null);
+        }
+        String stored = user.password();
+        return passwordService.verify(password, stored).thenCompose(matches -> {
+            if (!matches) {
+                return CompletableFuture.completedFuture(null);
+            }
+            if (!passwordService.needsRehash(stored)) {
+                return CompletableFuture.completedFuture(user.role());
+            }
+            // Plaintext or outdated cost: store a fresh hash; the login succeeds even if that fails
+            return passwordService.hash(password)
+                .thenApply(hash -> {
+                    int updated = userRepository.updatePassword(user.id(), stored, hash);
+                    if (updated > 0) invalidationBus.userChanged(email);
+                    return updated;
+                })
+                .handle((updated, e) -> {
+                    if (e != null) log.warn("Password rehash failed for {}: {}", email, e.getMessage());
+                    return user.role();
+                });
+        });
+    }
+
+    // Accept a refresh token once: false if it or its user was revoked, otherwise it is revoked now (rotation).
+    // Concurrent refreshes with the same token, on any nodes, race for its revocation row; only one wins
+    public boolean refresh(String jti, String email, Long issuedAt, long expiresAt) {
+        if (jti == null || denylist.isBanned(email) || denylist.isRevoked(jti, email, issuedAt, expiresAt)) {
+            return false;
+        }
+        String id = denylist.revoke(jti, email, expiresAt);
+        if (id == null) return false;
+        invalidationBus.tokenRevoked(id);
+        return true;
+    }
+
+    // Logout: the token is rejected on every node from now on; tokens without a jti predate revocation
+    public void revoke(String jti, String email, long expiresAt) {
+        if (jti == null) return;
+        String id = denylist.revoke(jti, email, expiresAt);
+        if (id != null) invalidationBus.tokenRevoked(id);
+    }
+
+    // Reject the user's tokens, logins and refreshes until unban()
+    public void ban(String email) {
+        invalidationBus.tokenRevoked(denylist.ban(email));
+        log.info("Banned {}", email);
+    }
+
+    // Tokens issued before the ban stay revoked; returns false if the user was not banned
+    public boolean unban(String email, long maxTokenTtlMs) {
+        String id = denylist.unban(email, maxTokenTtlMs);
+        if (id == null) return false;
+        invalidationBus.tokenRevoked(id);
+        log.info("Unbanned {}", email);
+        return true;
+    }
+
+    public LoginStats getStats() {
+        return new LoginStats(passwordService.getStats(), throttle.getStats(), userCache.getStats());
     }
     
     public User register(String name, String email, String password, String role) {
-        System.out.println("Starting registration process for: " + email);
+        log.info("Starting registration process for: {}", email);
         
         if (email == null || email.trim().isEmpty()) {
             throw new RuntimeException("Email cannot be empty");
@@ -43,26 +132,29 @@ public class AuthService {
             throw new RuntimeException("Name cannot be empty");
         }
         
-        if (userRepository.existsByEmail(email)) {
-            System.out.println("Registration failed: Email already exists: " + email);
+        if (userCache.exists(email)) {
+            log.info("Registration failed: Email already exists: {}", email);
             throw new RuntimeException("Email already exists");
         }
         
         // Force all registrations to be USER role only
         // Admins must be created manually via database or curl
         if (!"USER".equals(role)) {
-            System.out.println("Registration failed: Invalid role: " + role);
+            log.info("Registration failed: Invalid role: {}", role);
             throw new RuntimeException("Only USER role can be registered. Contact admin for ADMIN access.");
         }
         
+        // Hashed on the password pool; join() rethrows a rejection as a RuntimeException
+        String hash = passwordService.hash(password).join();
+
         try {
-            User user = new User(name, email, password, "USER");
+            User user = new User(name, email, hash, "USER");
             User savedUser = userRepository.save(user);
-            System.out.println("Registration successful for: " + email);
+            invalidationBus.userChanged(email);
+            log.info("Registration successful for: {}", email);
             return savedUser;
         } catch (Exception e) {
-            System.err.println("Database error during registration: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Database error during registration", e);
             throw new RuntimeException("Registration failed: Database error");
         }
     }
@@ -0,0 +1,234 @@
+package com.app.notes.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.app.notes.model.FileBlob;
+import com.app.notes.repository.FileBlobRepository;
+
+/**
+ * Content-addressed, reference-counted storage for uploaded files.
+ *
+ * Uploads are hashed (SHA-256) before anything is written. If a blob with that
+ * digest already exists, it gains a reference and the write is skipped.
+ * Otherwise the bytes go to {@code blobs/<2 hex>/<digest><ext>}. The object is
+ * deleted only when {@link #release(String)} drops the last reference, and a
+ * row at zero references is never reused without checking its object first.
+ */
+@Service
+public class BlobService {
+
+    private static final Logger log = LoggerFactory.getLogger(BlobService.class);
+
+    // Every stored upload lives under this prefix
+    public static final String PATH_PREFIX = "blobs/";
+
+    // Re-openable upload source; read once to hash and again (only if new) to store
+    @FunctionalInterface
+    public interface Source {
+        InputStream open() throws IOException;
+    }
+
+    public record StoredBlob(String digest, String path, String url, boolean reused) {}
+
+    public record BlobStats(long stored, long reused, long bytesSaved, long deleted) {}
+
+    private record Hashed(String digest, long size) {}
+
+    private final FileBlobRepository repository;
+    private final StorageService storageService;
+    private final TransactionTemplate transactions;
+
+    private final LongAdder stored = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+    private final LongAdder deleted = new LongAdder();
+
+    public BlobService(FileBlobRepository repository, StorageService storageService,
+                       PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.storageService = storageService;
+        this.transactions = new TransactionTemplate(transactionManager);
+    }
+
+    public StoredBlob store(MultipartFile file) throws IOException {
+        return store(file::getInputStream, file.getOriginalFilename(), file.getContentType());
+    }
+
+    // Store the bytes once and take a reference on them; callers must release() the digest when done
+    public StoredBlob store(Source source, String fileName, String contentType) throws IOException {
+        Hashed hashed;
+        try (InputStream in = source.open()) {
+            hashed = hash(in);
+        }
+        String digest = hashed.digest();
+
+        FileBlob existing = acquire(source, digest, hashed.size(), contentType);
+        if (existing != null) {
+            return reuse(existing);
+        }
+
+        String path = PATH_PREFIX + digest.substring(0, 2) + "/" + digest + extension(fileName, contentType);
+        // The object may outlive its row (row lost, or a release that failed half-way); don't upload it again
+        if (!ensureStored(source, path, hashed.size(), contentType)) {
+            bytesSaved.add(hashed.size());
+        }
+
+        try {
+            repository.saveAndFlush(new FileBlob(digest, path, hashed.size(), contentType));
+        } catch (DataIntegrityViolationException e) {
+            // Someone stored the same bytes concurrently; both wrote identical content to the same path
+            existing = acquire(source, digest, hashed.size(), contentType);
+            if (existing == null) throw e;
+            return reuse(existing);
+        }
+        // A release of an earlier row for these bytes may have deleted the object just before this row existed
+        ensureStored(source, path, hashed.size(), contentType);
+        return new StoredBlob(digest, path, storageService.url(path), false);
+    }
+
+    // Drop one reference. The last one first commits the row at zero references, so nothing reuses it
+    // without checking its object again, and only then deletes the object and the row
+    public void release(String digest) throws IOException {
+        Boolean last = transactions.execute(status -> {
+            FileBlob blob = repository.findForUpdate(digest).orElse(null);
+            if (blob == null || blob.getRefCount() <= 0) {
+                return false;
+            }
+            blob.setRefCount(blob.getRefCount() - 1);
+            return blob.getRefCount() == 0;
+        });
+        if (Boolean.TRUE.equals(last)) {
+            purge(digest);
+        }
+    }
+
+    // Finish deletes interrupted by a crash, a failed commit or a storage error
+    @EventListener(ApplicationReadyEvent.class)
+    public void purgeUnreferenced() {
+        for (String digest : repository.findUnreferencedDigests()) {
+            try {
+                purge(digest);
+            } catch (Exception e) {
+                log.warn("Failed to delete unreferenced blob {}: {}", digest, e.getMessage());
+            }
+        }
+    }
+
+    // Release one reference per entry, after the notes holding them were deleted in bulk
+    public void releaseAll(List<String> digests) {
+        for (String digest : digests) {
+            try {
+                release(digest);
+            } catch (Exception e) {
+                log.warn("Failed to release blob {}: {}", digest, e.getMessage());
+            }
+        }
+    }
+
+    public BlobStats getStats() {
+        return new BlobStats(stored.sum(), reused.sum(), bytesSaved.sum(), deleted.sum());
+    }
+
+    // Delete an unreferenced blob's object, then its row, under the row lock. If the commit fails, the row
+    // stays at zero references and the next store of the same bytes uploads the object again
+    private void purge(String digest) throws IOException {
+        try {
+            transactions.executeWithoutResult(status -> {
+                FileBlob blob = repository.findForUpdate(digest).orElse(null);
+                if (blob == null || blob.getRefCount() > 0) {
+                    // Reclaimed by a store of the same bytes in the meantime
+                    return;
+                }
+                try {
+                    storageService.deleteFile(blob.getPath());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                repository.delete(blob);
+                deleted.increment();
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Reference an existing blob, or null if there is none. A blob whose last reference was just released
+    // is taken back before purge() gets to it; its object may already be gone, so it is checked first
+    private FileBlob acquire(Source source, String digest, long size, String contentType) throws IOException {
+        if (repository.retain(digest) > 0) {
+            return repository.findById(digest).orElseThrow();
+        }
+        if (repository.reclaim(digest) > 0) {
+            FileBlob blob = repository.findById(digest).orElseThrow();
+            ensureStored(source, blob.getPath(), size, contentType);
+            return blob;
+        }
+        return null;
+    }
+
+    // Upload unless an object of this size is already at path; true if it was uploaded
+    private boolean ensureStored(Source source, String path, long size, String contentType) throws IOException {
+        StorageBackend.ObjectInfo existing = storageService.stat(path);
+        if (existing != null && existing.size() == size) {
+            return false;
+        }
+        try (InputStream in = source.open()) {
+            storageService.upload(in, contentType, path);
+        }
+        stored.increment();
+        return true;
+    }
+
+    private StoredBlob reuse(FileBlob blob) {
+        reused.increment();
+        bytesSaved.add(blob.getSize());
+        return new StoredBlob(blob.getDigest(), blob.getPath(), storageService.url(blob.getPath()), true);
+    }
+
+    private static Hashed hash(InputStream in) throws IOException {
+        MessageDigest sha;
+        try {
+            sha = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[64 * 1024];
+        long size = 0;
+        int n;
+        while ((n = in.read(buffer)) > 0) {
+            sha.update(buffer, 0, n);
+            size += n;
+        }
+        return new Hashed(HexFormat.of().formatHex(sha.digest()), size);
+    }
+
+    // Keep the extension so the object is still recognizable (the pipeline only processes .pdf)
+    private static String extension(String fileName, String contentType) {
+        if (fileName != null) {
+            int dot = fileName.lastIndexOf('.');
+            String ext = dot >= 0 ? fileName.substring(dot).toLowerCase(Locale.ROOT) : "";
+            if (ext.matches("\\.[a-z0-9]{1,10}")) {
+                return ext;
+            }
+        }
+        return "application/pdf".equals(contentType) ? ".pdf" : "";
+    }
+}
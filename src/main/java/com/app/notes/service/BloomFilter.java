@@ -0,0 +1,84 @@
+package com.app.notes.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size Bloom filter over strings, safe for concurrent adds and lookups.
+ *
+ * {@link #mightContain(String)} never returns false for an added key; it returns
+ * true for a key that was never added with roughly the configured probability,
+ * which grows once more keys than expected have been added.
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+    private final LongAdder added = new LongAdder();
+
+    BloomFilter(long expectedKeys, double falsePositiveRate) {
+        long n = Math.max(1, expectedKeys);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.words = new AtomicLongArray((int) Math.max(1, (m + 63) / 64));
+        this.bits = words.length() * 64L;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+    }
+
+    void add(String key) {
+        long hash = hash(key);
+        for (int i = 0; i < hashes; i++) {
+            long bit = index(hash, i);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            while (((current = words.get(word)) & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                // Another add changed the word; retry
+            }
+        }
+        added.increment();
+    }
+
+    boolean mightContain(String key) {
+        long hash = hash(key);
+        for (int i = 0; i < hashes; i++) {
+            long bit = index(hash, i);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long added() {
+        return added.sum();
+    }
+
+    // Expected false-positive rate for the keys added so far
+    double falsePositiveRate() {
+        return Math.pow(1 - Math.exp(-hashes * (double) added.sum() / bits), hashes);
+    }
+
+    // Double hashing: the i-th probe is h1 + i * h2
+    private long index(long hash, int i) {
+        long h1 = hash >>> 32;
+        long h2 = hash & 0xffffffffL;
+        return Math.floorMod(h1 + i * h2, bits);
+    }
+
+    // FNV-1a over the UTF-8 bytes, then the MurmurHash3 finalizer to spread the bits
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
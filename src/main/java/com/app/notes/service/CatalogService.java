@@ -0,0 +1,121 @@
+package com.app.notes.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import com.app.notes.dto.CatalogNote;
+import com.app.notes.dto.CatalogSemester;
+import com.app.notes.dto.CatalogStream;
+import com.app.notes.dto.CatalogSubject;
+import com.app.notes.repository.NoteRepository;
+import com.app.notes.repository.SemesterRepository;
+import com.app.notes.repository.StreamRepository;
+import com.app.notes.repository.SubjectRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Read model for GET /streams.
+ *
+ * Builds the whole Stream -> Semester -> Subject -> Note tree with one query
+ * per level and keeps it as pre-serialized JSON plus an ETag. Services call
+ * {@link #invalidate()} after every write; the next read rebuilds the tree.
+ */
+@Service
+public class CatalogService {
+
+    public record Snapshot(byte[] body, String etag, long version) {}
+
+    private final StreamRepository streamRepository;
+    private final SemesterRepository semesterRepository;
+    private final SubjectRepository subjectRepository;
+    private final NoteRepository noteRepository;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    // Lock rather than synchronized so virtual threads waiting on the rebuild query don't pin
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    public CatalogService(StreamRepository streamRepository,
+                          SemesterRepository semesterRepository,
+                          SubjectRepository subjectRepository,
+                          NoteRepository noteRepository,
+                          ObjectMapper objectMapper) {
+        this.streamRepository = streamRepository;
+        this.semesterRepository = semesterRepository;
+        this.subjectRepository = subjectRepository;
+        this.noteRepository = noteRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    // Current tree; rebuilt only if a write happened since the last build
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null && current.version() == version.get()) {
+            return current;
+        }
+        rebuildLock.lock();
+        try {
+            current = snapshot;
+            long wanted = version.get();
+            if (current != null && current.version() == wanted) {
+                return current;
+            }
+            current = build(wanted);
+            snapshot = current;
+            return current;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // Mark the tree stale; called by the hierarchy and note services after writes
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    private Snapshot build(long buildVersion) {
+        Map<Long, List<CatalogNote>> notesBySubject = new HashMap<>();
+        for (Object[] row : noteRepository.findCatalogRows()) {
+            notesBySubject.computeIfAbsent((Long) row[3], id -> new ArrayList<>())
+                .add(new CatalogNote((String) row[0], (String) row[1], (String) row[2]));
+        }
+
+        Map<Long, List<CatalogSubject>> subjectsBySemester = new HashMap<>();
+        for (Object[] row : subjectRepository.findCatalogRows()) {
+            Long id = (Long) row[0];
+            subjectsBySemester.computeIfAbsent((Long) row[2], key -> new ArrayList<>())
+                .add(new CatalogSubject(id, (String) row[1], List.copyOf(notesBySubject.getOrDefault(id, List.of()))));
+        }
+
+        Map<Long, List<CatalogSemester>> semestersByStream = new HashMap<>();
+        for (Object[] row : semesterRepository.findCatalogRows()) {
+            Long id = (Long) row[0];
+            semestersByStream.computeIfAbsent((Long) row[2], key -> new ArrayList<>())
+                .add(new CatalogSemester(id, (Integer) row[1], List.copyOf(subjectsBySemester.getOrDefault(id, List.of()))));
+        }
+
+        List<CatalogStream> streams = new ArrayList<>();
+        for (Object[] row : streamRepository.findCatalogRows()) {
+            Long id = (Long) row[0];
+            streams.add(new CatalogStream(id, (String) row[1], List.copyOf(semestersByStream.getOrDefault(id, List.of()))));
+        }
+
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(streams);
+            String etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+            return new Snapshot(body, etag, buildVersion);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize catalog", e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.app.notes.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import com.app.notes.model.Note;
+import com.app.notes.model.Semester;
+import com.app.notes.model.Stream;
+import com.app.notes.model.Subject;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Hibernate second-level cache for the Stream -> Semester -> Subject -> Note
+ * hierarchy (entities, their collections and the findBy* queries).
+ *
+ * Hibernate keeps entries current for writes it performs itself. Service writes
+ * also evict through {@link InvalidationBus}, so cascades, inverse collections
+ * and other nodes' caches are never served stale.
+ */
+@Service
+public class EntityCacheService {
+
+    public record RegionStats(long hits, long misses, long puts, double hitRatio) {}
+
+    public record CacheStats(Map<String, RegionStats> regions, long queryHits, long queryMisses,
+                             double queryHitRatio, long statements) {}
+
+    private final SessionFactory sessionFactory;
+
+    public EntityCacheService(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    // Hierarchy writes are rare, so drop everything above the notes rather than tracking what changed
+    public void evictHierarchy() {
+        org.hibernate.Cache cache = sessionFactory.getCache();
+        cache.evictEntityData(Stream.class);
+        cache.evictEntityData(Semester.class);
+        cache.evictEntityData(Subject.class);
+        // Deletes cascade to notes
+        cache.evictEntityData(Note.class);
+        cache.evictCollectionData(Stream.class.getName() + ".semesters");
+        cache.evictCollectionData(Semester.class.getName() + ".subjects");
+        cache.evictCollectionData(Subject.class.getName() + ".notes");
+        cache.evictDefaultQueryRegion();
+    }
+
+    // A note was added or removed: drop it and its subject's notes collection
+    public void evictNote(String noteId, Long subjectId) {
+        org.hibernate.Cache cache = sessionFactory.getCache();
+        if (noteId != null) cache.evictEntityData(Note.class, noteId);
+        if (subjectId != null) cache.evictCollectionData(Subject.class.getName() + ".notes", subjectId);
+    }
+
+    public CacheStats getStats() {
+        Statistics statistics = sessionFactory.getStatistics();
+        Map<String, RegionStats> regions = new LinkedHashMap<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics r = statistics.getCacheRegionStatistics(region);
+            if (r == null) continue;
+            regions.put(region, new RegionStats(r.getHitCount(), r.getMissCount(), r.getPutCount(),
+                ratio(r.getHitCount(), r.getMissCount())));
+        }
+        long queryHits = statistics.getQueryCacheHitCount();
+        long queryMisses = statistics.getQueryCacheMissCount();
+        return new CacheStats(regions, queryHits, queryMisses, ratio(queryHits, queryMisses),
+            statistics.getPrepareStatementCount());
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,198 @@
+package com.app.notes.service;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.cloud.ReadChannel;
+import com.google.cloud.WriteChannel;
+import com.google.cloud.storage.Blob;
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.StorageOptions;
+
+@Service
+@ConditionalOnProperty(name = "storage.backend", havingValue = "gcs", matchIfMissing = true)
+public class GcsStorageBackend implements StorageBackend {
+
+    // GCS resumable uploads require chunk sizes in multiples of 256 KiB
+    private static final int CHUNK_GRANULARITY = 256 * 1024;
+
+    @Value("${gcp.credentials.file}")
+    private String credentialsFile;
+
+    @Value("${gcp.bucket.name}")
+    private String bucketName;
+
+    private Storage storage;
+
+    private final int chunkSize;
+    private final long acquireTimeoutMs;
+
+    // At most one direct buffer per in-flight transfer; permits provide backpressure
+    private final Semaphore transferPermits;
+    private final Queue<ByteBuffer> bufferPool = new ConcurrentLinkedQueue<>();
+
+    public GcsStorageBackend(
+            ObjectProvider<Storage> storageProvider,
+            @Value("${gcp.upload.chunk-size:8388608}") int chunkSize,
+            @Value("${gcp.upload.max-concurrent:16}") int maxConcurrent,
+            @Value("${gcp.upload.acquire-timeout-ms:30000}") long acquireTimeoutMs) {
+        // A Storage bean (e.g. a local fake in tests) takes precedence over credentials
+        this.storage = storageProvider.getIfAvailable();
+        this.chunkSize = Math.max(1, (chunkSize + CHUNK_GRANULARITY - 1) / CHUNK_GRANULARITY) * CHUNK_GRANULARITY;
+        this.transferPermits = new Semaphore(maxConcurrent, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    // Initialize GCP Storage client
+    private Storage getStorage() throws IOException {
+        if (storage == null) {
+            GoogleCredentials credentials = GoogleCredentials.fromStream(
+                new FileInputStream(credentialsFile)
+            );
+            storage = StorageOptions.newBuilder()
+                .setCredentials(credentials)
+                .build()
+                .getService();
+        }
+        return storage;
+    }
+
+    // Stream an upload into a resumable GCS write, one chunk at a time
+    @Override
+    public String upload(InputStream in, String contentType, String objectPath) throws IOException {
+        BlobId blobId = BlobId.of(bucketName, objectPath);
+        BlobInfo blobInfo = BlobInfo.newBuilder(blobId)
+            .setContentType(contentType)
+            .build();
+
+        ByteBuffer buffer = acquireBuffer();
+        WriteChannel writer;
+        try (ReadableByteChannel source = Channels.newChannel(in)) {
+            writer = getStorage().writer(blobInfo);
+            writer.setChunkSize(chunkSize);
+            while (source.read(buffer) != -1) {
+                if (!buffer.hasRemaining()) {
+                    drain(buffer, writer);
+                }
+            }
+            drain(buffer, writer);
+        } finally {
+            releaseBuffer(buffer);
+        }
+        // Only a complete read gets here. close() finalizes the resumable upload, and only then does the object
+        // appear; after a failed read the writer is left unclosed, which abandons the session instead of
+        // publishing the bytes sent so far as a truncated object (or replacing a good one at the same path)
+        writer.close();
+        return url(objectPath);
+    }
+
+    @Override
+    public String url(String objectPath) {
+        // Return public URL with properly encoded path
+        String encodedPath = URLEncoder.encode(objectPath, StandardCharsets.UTF_8)
+            .replace("+", "%20"); // Replace + with %20 for proper URL encoding
+        return String.format("https://storage.googleapis.com/%s/%s", bucketName, encodedPath);
+    }
+
+    @Override
+    public String objectPath(String url) {
+        String prefix = "https://storage.googleapis.com/" + bucketName + "/";
+        if (url == null || !url.startsWith(prefix)) {
+            return null;
+        }
+        return URLDecoder.decode(url.substring(prefix.length()), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean delete(String objectPath) throws IOException {
+        return getStorage().delete(BlobId.of(bucketName, objectPath));
+    }
+
+    @Override
+    public String signedUrl(String objectPath, Duration ttl) throws IOException {
+        Blob blob = getStorage().get(BlobId.of(bucketName, objectPath));
+        if (blob == null) {
+            return null;
+        }
+        URL signedUrl = blob.signUrl(ttl.toSeconds(), TimeUnit.SECONDS);
+        return signedUrl.toString();
+    }
+
+    @Override
+    public ObjectInfo stat(String objectPath) throws IOException {
+        Blob blob = getStorage().get(BlobId.of(bucketName, objectPath));
+        if (blob == null) {
+            return null;
+        }
+        long updated = blob.getUpdateTimeOffsetDateTime() != null
+            ? blob.getUpdateTimeOffsetDateTime().toInstant().toEpochMilli()
+            : 0L;
+        return new ObjectInfo(blob.getSize(), blob.getContentType(), updated);
+    }
+
+    @Override
+    public long transferTo(String objectPath, long position, long count, WritableByteChannel target) throws IOException {
+        ByteBuffer buffer = acquireBuffer();
+        long copied = 0;
+        try (ReadChannel reader = getStorage().reader(BlobId.of(bucketName, objectPath))) {
+            reader.seek(position);
+            reader.limit(position + count);
+            while (copied < count && reader.read(buffer) != -1) {
+                copied += buffer.position();
+                drain(buffer, target);
+            }
+        } finally {
+            releaseBuffer(buffer);
+        }
+        return copied;
+    }
+
+    private static void drain(ByteBuffer buffer, WritableByteChannel target) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private ByteBuffer acquireBuffer() throws IOException {
+        try {
+            if (!transferPermits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new IOException("Too many concurrent transfers, try again later");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a transfer slot", e);
+        }
+        ByteBuffer buffer = bufferPool.poll();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect(chunkSize);
+    }
+
+    private void releaseBuffer(ByteBuffer buffer) {
+        buffer.clear();
+        bufferPool.offer(buffer);
+        transferPermits.release();
+    }
+}
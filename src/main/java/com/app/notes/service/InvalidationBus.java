@@ -0,0 +1,222 @@
+package com.app.notes.service;
+
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.app.notes.model.Note;
+import com.app.notes.model.NoteContent;
+import com.app.notes.repository.NoteContentRepository;
+import com.app.notes.repository.NoteRepository;
+import com.app.notes.repository.StreamRepository;
+import com.app.notes.repository.SubjectRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Keeps every node's in-process copies of the hierarchy and notes (catalog
+ * snapshot, second-level cache, search index), of user credentials and of the
+ * token denylist in line with the database.
+ *
+ * Write paths in the services publish an event here instead of evicting caches
+ * themselves. The event is applied locally straight away, then sent through
+ * the configured {@link InvalidationTransport}; other nodes evict the same
+ * entries and refresh their search index from the database.
+ */
+@Service
+public class InvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(InvalidationBus.class);
+
+    public record BusStats(String transport, String node, long published, long received, long applied, long failed) {}
+
+    private final InvalidationTransport transport;
+    private final CatalogService catalogService;
+    private final EntityCacheService entityCache;
+    private final SearchService searchService;
+    private final NoteRepository noteRepository;
+    private final NoteContentRepository contentRepository;
+    private final StreamRepository streamRepository;
+    private final SubjectRepository subjectRepository;
+    private final UserCredentialCache userCache;
+    private final TokenDenylist tokenDenylist;
+
+    // Identifies this node's events when they come back through the transport
+    private final String nodeId = HexFormat.of().toHexDigits(new SecureRandom().nextLong());
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder applied = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public InvalidationBus(InvalidationTransport transport,
+                           CatalogService catalogService,
+                           EntityCacheService entityCache,
+                           SearchService searchService,
+                           NoteRepository noteRepository,
+                           NoteContentRepository contentRepository,
+                           StreamRepository streamRepository,
+                           SubjectRepository subjectRepository,
+                           UserCredentialCache userCache,
+                           TokenDenylist tokenDenylist) {
+        this.transport = transport;
+        this.catalogService = catalogService;
+        this.entityCache = entityCache;
+        this.searchService = searchService;
+        this.noteRepository = noteRepository;
+        this.contentRepository = contentRepository;
+        this.streamRepository = streamRepository;
+        this.subjectRepository = subjectRepository;
+        this.userCache = userCache;
+        this.tokenDenylist = tokenDenylist;
+    }
+
+    @PostConstruct
+    public void start() throws Exception {
+        transport.start(this::receive);
+    }
+
+    @PreDestroy
+    public void stop() {
+        transport.stop();
+    }
+
+    // kind is the search document type: stream, semester or subject
+    public void hierarchyCreated(String kind, Long id) {
+        publish(List.of(event(InvalidationEvent.Type.HIERARCHY, kind + ":" + id, null)));
+    }
+
+    // Deletes cascade to everything below, so they carry no key and other nodes rebuild
+    public void hierarchyDeleted() {
+        publish(List.of(event(InvalidationEvent.Type.HIERARCHY, null, null)));
+    }
+
+    public void notesSaved(List<String> noteIds, Long subjectId) {
+        if (noteIds.isEmpty()) return;
+        publish(noteIds.stream().map(id -> event(InvalidationEvent.Type.NOTE_SAVED, id, subjectId)).toList());
+    }
+
+    public void noteDeleted(String noteId, Long subjectId) {
+        publish(List.of(event(InvalidationEvent.Type.NOTE_DELETED, noteId, subjectId)));
+    }
+
+    public void contentChanged(String noteId) {
+        publish(List.of(event(InvalidationEvent.Type.CONTENT, noteId, null)));
+    }
+
+    // A user registered or their password hash changed
+    public void userChanged(String email) {
+        publish(List.of(event(InvalidationEvent.Type.USER, email, null)));
+    }
+
+    // A revocation row was written; the writing node has applied it already
+    public void tokenRevoked(String revocationId) {
+        publish(List.of(event(InvalidationEvent.Type.REVOKED, revocationId, null)));
+    }
+
+    public BusStats getStats() {
+        return new BusStats(transport.getClass().getSimpleName(), nodeId,
+            published.sum(), received.sum(), applied.sum(), failed.sum());
+    }
+
+    private InvalidationEvent event(InvalidationEvent.Type type, String key, Long subjectId) {
+        return new InvalidationEvent(nodeId, type, key, subjectId);
+    }
+
+    // The write has already committed; a transport failure only delays other nodes until their caches expire
+    private void publish(List<InvalidationEvent> events) {
+        for (InvalidationEvent event : events) {
+            evict(event);
+        }
+        try {
+            transport.publish(events.stream().map(InvalidationEvent::encode).toList());
+            published.add(events.size());
+        } catch (Exception e) {
+            failed.add(events.size());
+            log.warn("Failed to publish {} invalidation(s): {}", events.size(), e.getMessage());
+        }
+    }
+
+    private void receive(String message) {
+        try {
+            InvalidationEvent event = InvalidationEvent.decode(message);
+            if (nodeId.equals(event.origin())) {
+                return;
+            }
+            received.increment();
+            evict(event);
+            refreshSearch(event);
+            applied.increment();
+        } catch (Exception e) {
+            failed.increment();
+            log.warn("Failed to apply invalidation '{}': {}", message, e.getMessage());
+        }
+    }
+
+    private void evict(InvalidationEvent event) {
+        switch (event.type()) {
+            case HIERARCHY -> {
+                catalogService.invalidate();
+                entityCache.evictHierarchy();
+            }
+            case NOTE_SAVED, NOTE_DELETED -> {
+                catalogService.invalidate();
+                entityCache.evictNote(event.key(), event.subjectId());
+            }
+            case CONTENT -> {
+                // Extracted text is only held by the search index
+            }
+            case USER -> userCache.changed(event.key());
+            case REVOKED -> {
+                // Applied by the writer before publishing; only other nodes need to read it back
+            }
+        }
+    }
+
+    // The writing node updated its own index in place; others re-read from the database
+    private void refreshSearch(InvalidationEvent event) {
+        switch (event.type()) {
+            case HIERARCHY -> {
+                if (event.key() == null) {
+                    searchService.rebuildQuietly();
+                } else {
+                    indexCreated(event.key());
+                }
+            }
+            case NOTE_DELETED -> searchService.deleteNote(event.key());
+            case NOTE_SAVED, CONTENT -> {
+                Note note = noteRepository.findById(event.key()).orElse(null);
+                if (note == null) {
+                    searchService.deleteNote(event.key());
+                    return;
+                }
+                String text = contentRepository.findById(note.getId()).map(NoteContent::getText).orElse(null);
+                searchService.indexNote(note, text);
+            }
+            case USER -> {
+                // Users are not indexed
+            }
+            case REVOKED -> tokenDenylist.reload(event.key());
+        }
+    }
+
+    // A creation adds one document and changes no others
+    private void indexCreated(String key) {
+        int colon = key.indexOf(':');
+        Long id = Long.valueOf(key.substring(colon + 1));
+        switch (key.substring(0, colon)) {
+            case "stream" -> streamRepository.findById(id).ifPresent(searchService::indexStream);
+            case "subject" -> subjectRepository.findById(id).ifPresent(searchService::indexSubject);
+            case "semester" -> {
+                // Not indexed; its subjects arrive as their own events
+            }
+            default -> throw new IllegalArgumentException("Unknown hierarchy kind: " + key);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.app.notes.service;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One cache invalidation, as sent between nodes.
+ *
+ * Encoded as a single short line, {@code origin|type|key|subjectId}, so a
+ * UDP datagram or outbox row can carry it without a serializer. The key is the
+ * note id, the email for USER events, the revocation id for REVOKED, or
+ * {@code kind:id} (e.g. {@code subject:12}) for a HIERARCHY creation,
+ * URL-encoded so it never contains '|'.
+ */
+public record InvalidationEvent(String origin, Type type, String key, Long subjectId) {
+
+    public enum Type {
+        // A stream, semester or subject was created (key kind:id) or deleted (no key)
+        HIERARCHY('H'),
+        // A note was created
+        NOTE_SAVED('N'),
+        NOTE_DELETED('D'),
+        // The pipeline stored a note's extracted text
+        CONTENT('C'),
+        // A user registered or their stored password changed
+        USER('U'),
+        // A token was revoked or a user banned or unbanned; the key is the revocation id
+        REVOKED('R');
+
+        private final char code;
+
+        Type(char code) {
+            this.code = code;
+        }
+
+        static Type of(char code) {
+            for (Type type : values()) {
+                if (type.code == code) return type;
+            }
+            throw new IllegalArgumentException("Unknown invalidation type: " + code);
+        }
+    }
+
+    public String encode() {
+        return origin + "|" + type.code + "|" + (key != null ? URLEncoder.encode(key, StandardCharsets.UTF_8) : "") + "|"
+            + (subjectId != null ? subjectId : "");
+    }
+
+    public static InvalidationEvent decode(String message) {
+        String[] parts = message.split("\\|", -1);
+        if (parts.length != 4 || parts[1].length() != 1) {
+            throw new IllegalArgumentException("Malformed invalidation: " + message);
+        }
+        return new InvalidationEvent(
+            parts[0],
+            Type.of(parts[1].charAt(0)),
+            parts[2].isEmpty() ? null : URLDecoder.decode(parts[2], StandardCharsets.UTF_8),
+            parts[3].isEmpty() ? null : Long.valueOf(parts[3])
+        );
+    }
+}
@@ -0,0 +1,23 @@
+package com.app.notes.service;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Carries encoded {@link InvalidationEvent}s between nodes. Selected with
+ * {@code cache.bus.transport}: {@code local} (default, in-JVM only),
+ * {@code outbox} (MySQL table polled by every node) or {@code multicast} (UDP).
+ *
+ * Delivery is at-most-once and may include the sender's own messages; the bus
+ * drops those and every event is safe to apply twice.
+ */
+public interface InvalidationTransport {
+
+    // Begin handing messages from other nodes to receiver
+    void start(Consumer<String> receiver) throws Exception;
+
+    void publish(List<String> messages) throws Exception;
+
+    default void stop() {
+    }
+}
@@ -0,0 +1,162 @@
+package com.app.notes.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import com.app.notes.model.Note;
+import com.app.notes.model.Semester;
+import com.app.notes.model.Stream;
+import com.app.notes.model.Subject;
+import com.app.notes.model.User;
+import com.app.notes.repository.NoteRepository;
+import com.app.notes.repository.SemesterRepository;
+import com.app.notes.repository.StreamRepository;
+import com.app.notes.repository.SubjectRepository;
+import com.app.notes.repository.UserRepository;
+
+/**
+ * Fills an empty database with a hierarchy, one-page PDF notes and student
+ * accounts (student1@example.com ... with password 1234) for load tests.
+ *
+ * Only active in the "loadtest" profile. Runs before ApplicationReadyEvent, so
+ * the search rebuild and the pipeline sweep see the seeded notes.
+ */
+@Component
+@Profile("loadtest")
+public class LoadTestSeeder implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestSeeder.class);
+
+    private static final String[] STREAMS = {"CSE", "ECE", "MECH", "CIVIL", "EEE", "IT"};
+    private static final String[] SUBJECTS = {
+        "Data Structures", "Operating Systems", "Computer Networks", "Database Systems",
+        "Discrete Mathematics", "Signals and Systems", "Thermodynamics", "Engineering Drawing"
+    };
+
+    private final StreamRepository streamRepository;
+    private final SemesterRepository semesterRepository;
+    private final SubjectRepository subjectRepository;
+    private final NoteRepository noteRepository;
+    private final UserRepository userRepository;
+    private final BlobService blobService;
+    private final PasswordService passwordService;
+
+    private final int streams;
+    private final int semesters;
+    private final int subjects;
+    private final int notes;
+    private final int users;
+
+    public LoadTestSeeder(StreamRepository streamRepository,
+                          SemesterRepository semesterRepository,
+                          SubjectRepository subjectRepository,
+                          NoteRepository noteRepository,
+                          UserRepository userRepository,
+                          BlobService blobService,
+                          PasswordService passwordService,
+                          @Value("${loadtest.seed.streams:4}") int streams,
+                          @Value("${loadtest.seed.semesters:8}") int semesters,
+                          @Value("${loadtest.seed.subjects:6}") int subjects,
+                          @Value("${loadtest.seed.notes:10}") int notes,
+                          @Value("${loadtest.seed.users:100}") int users) {
+        this.streamRepository = streamRepository;
+        this.semesterRepository = semesterRepository;
+        this.subjectRepository = subjectRepository;
+        this.noteRepository = noteRepository;
+        this.userRepository = userRepository;
+        this.blobService = blobService;
+        this.passwordService = passwordService;
+        this.streams = Math.min(streams, STREAMS.length);
+        this.semesters = semesters;
+        this.subjects = subjects;
+        this.notes = notes;
+        this.users = users;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (streamRepository.count() > 0) {
+            log.info("Load-test seed skipped: database is not empty");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        int noteCount = 0;
+        for (int s = 0; s < streams; s++) {
+            Stream stream = streamRepository.save(new Stream(STREAMS[s]));
+            for (int sem = 1; sem <= semesters; sem++) {
+                Semester semester = semesterRepository.save(new Semester(sem, stream));
+                for (int sub = 0; sub < subjects; sub++) {
+                    String name = SUBJECTS[sub % SUBJECTS.length] + (sub >= SUBJECTS.length ? " " + (sub / SUBJECTS.length + 1) : "");
+                    Subject subject = subjectRepository.save(new Subject(name, semester));
+                    noteRepository.saveAll(seedNotes(stream, sem, subject));
+                    noteCount += notes;
+                }
+            }
+        }
+
+        // One hash shared by every student; hashing each would dominate startup
+        String password = passwordService.hash("1234").join();
+        List<User> students = new ArrayList<>();
+        for (int u = 1; u <= users; u++) {
+            String email = "student" + u + "@example.com";
+            if (!userRepository.existsByEmail(email)) {
+                students.add(new User("Student " + u, email, password, "USER"));
+            }
+        }
+        userRepository.saveAll(students);
+
+        log.info("Load-test seed: {} streams, {} subjects, {} notes, {} students in {} ms", streams,
+            streams * semesters * subjects, noteCount, students.size(), System.currentTimeMillis() - start);
+    }
+
+    private List<Note> seedNotes(Stream stream, int sem, Subject subject) throws IOException {
+        List<Note> seeded = new ArrayList<>(notes);
+        for (int n = 1; n <= notes; n++) {
+            String title = subject.getName() + " - Lecture " + n;
+            byte[] pdf = pdf(title, stream.getName() + " semester " + sem);
+            BlobService.StoredBlob blob = blobService.store(
+                () -> new ByteArrayInputStream(pdf), title + ".pdf", "application/pdf");
+            Note note = new Note(title, blob.url(), subject);
+            note.setFilePath(blob.path());
+            note.setBlobDigest(blob.digest());
+            seeded.add(note);
+        }
+        return seeded;
+    }
+
+    // One page of text, unique per note so every note gets its own blob
+    private static byte[] pdf(String title, String context) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                content.beginText();
+                content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 14);
+                content.newLineAtOffset(72, 720);
+                content.showText(title);
+                content.newLineAtOffset(0, -20);
+                content.showText(context);
+                content.endText();
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+}
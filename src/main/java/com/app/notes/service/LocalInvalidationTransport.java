@@ -0,0 +1,38 @@
+package com.app.notes.service;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Single node, or several application contexts in one JVM (tests): delivers to every bus in this process
+@Component
+@ConditionalOnProperty(name = "cache.bus.transport", havingValue = "local", matchIfMissing = true)
+public class LocalInvalidationTransport implements InvalidationTransport {
+
+    private static final List<Consumer<String>> RECEIVERS = new CopyOnWriteArrayList<>();
+
+    private Consumer<String> receiver;
+
+    @Override
+    public void start(Consumer<String> receiver) {
+        this.receiver = receiver;
+        RECEIVERS.add(receiver);
+    }
+
+    @Override
+    public void publish(List<String> messages) {
+        for (Consumer<String> other : RECEIVERS) {
+            if (other != receiver) {
+                messages.forEach(other);
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        RECEIVERS.remove(receiver);
+    }
+}
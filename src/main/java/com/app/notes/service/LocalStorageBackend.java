@@ -0,0 +1,133 @@
+package com.app.notes.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+@Service
+@ConditionalOnProperty(name = "storage.backend", havingValue = "local")
+public class LocalStorageBackend implements StorageBackend {
+
+    // Bytes moved per transferFrom/transferTo call
+    private static final long TRANSFER_CHUNK = 8L * 1024 * 1024;
+
+    private final Path root;
+    private final String baseUrl;
+
+    public LocalStorageBackend(
+            @Value("${storage.local.root:./storage}") String root,
+            @Value("${storage.local.base-url:http://localhost:8080}") String baseUrl) throws IOException {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.baseUrl = baseUrl;
+        Files.createDirectories(this.root);
+    }
+
+    // Write to a temp file next to the target, then move it into place
+    @Override
+    public String upload(InputStream in, String contentType, String objectPath) throws IOException {
+        Path target = resolve(objectPath);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), ".upload-", ".part");
+        try (ReadableByteChannel source = Channels.newChannel(in);
+             FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            long position = 0;
+            long written;
+            while ((written = out.transferFrom(source, position, TRANSFER_CHUNK)) > 0) {
+                position += written;
+            }
+            out.force(false);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return url(objectPath);
+    }
+
+    @Override
+    public boolean delete(String objectPath) throws IOException {
+        return Files.deleteIfExists(resolve(objectPath));
+    }
+
+    // Local files have no signing; hand back the download URL if the file exists
+    @Override
+    public String signedUrl(String objectPath, Duration ttl) throws IOException {
+        return Files.isRegularFile(resolve(objectPath)) ? url(objectPath) : null;
+    }
+
+    @Override
+    public ObjectInfo stat(String objectPath) throws IOException {
+        Path file = resolve(objectPath);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        return new ObjectInfo(
+            Files.size(file),
+            Files.probeContentType(file),
+            Files.getLastModifiedTime(file).toMillis()
+        );
+    }
+
+    // FileChannel.transferTo uses sendfile when target is a socket channel
+    @Override
+    public long transferTo(String objectPath, long position, long count, WritableByteChannel target) throws IOException {
+        try (FileChannel in = FileChannel.open(resolve(objectPath), StandardOpenOption.READ)) {
+            long end = Math.min(position + count, in.size());
+            long copied = 0;
+            while (position + copied < end) {
+                long sent = in.transferTo(position + copied, Math.min(TRANSFER_CHUNK, end - position - copied), target);
+                if (sent <= 0) {
+                    break;
+                }
+                copied += sent;
+            }
+            return copied;
+        }
+    }
+
+    @Override
+    public String objectPath(String url) {
+        int query = url == null ? -1 : url.indexOf("/files/download?path=");
+        if (query < 0) {
+            return null;
+        }
+        return URLDecoder.decode(url.substring(query + "/files/download?path=".length()), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Path localFile(String objectPath) {
+        return resolve(objectPath);
+    }
+
+    // Keep every object path inside the storage root
+    private Path resolve(String objectPath) {
+        Path file = root.resolve(objectPath).normalize();
+        if (!file.startsWith(root) || file.equals(root)) {
+            throw new IllegalArgumentException("Invalid object path: " + objectPath);
+        }
+        return file;
+    }
+
+    @Override
+    public String url(String objectPath) {
+        String encodedPath = URLEncoder.encode(objectPath, StandardCharsets.UTF_8)
+            .replace("+", "%20");
+        return String.format("%s/files/download?path=%s", baseUrl, encodedPath);
+    }
+}
@@ -0,0 +1,120 @@
+package com.app.notes.service;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Token buckets in front of password verification, one per account and one
+ * per client IP. Behind a load balancer the IP is the X-Forwarded-For client
+ * address Tomcat resolves for trusted proxies ({@code server.tomcat.remoteip.*});
+ * without that every login would share the balancer's bucket.
+ *
+ * Each attempt takes a token from both; an empty bucket refuses the attempt
+ * before any hashing work is queued. Buckets refill continuously, so a user
+ * who mistyped a few times is only delayed, while a burst against one account
+ * or from one address is held to the configured rate.
+ */
+@Service
+public class LoginThrottle {
+
+    public record ThrottleStats(int accounts, int addresses, long allowed, long throttledAccount, long throttledIp) {}
+
+    private record Bucket(double tokens, long updatedNanos, boolean granted) {}
+
+    private static final class Limit {
+        final double burst;
+        final double perNano;
+
+        Limit(double burst, double perMinute) {
+            this.burst = burst;
+            this.perNano = perMinute / TimeUnit.MINUTES.toNanos(1);
+        }
+
+        Bucket take(Bucket bucket, long now) {
+            double tokens = bucket == null ? burst
+                : Math.min(burst, bucket.tokens() + (now - bucket.updatedNanos()) * perNano);
+            return tokens >= 1 ? new Bucket(tokens - 1, now, true) : new Bucket(tokens, now, false);
+        }
+
+        // Whole seconds until the bucket holds one token again
+        long retryAfterSeconds(Bucket bucket) {
+            return Math.max(1, (long) Math.ceil((1 - bucket.tokens()) / perNano / 1e9));
+        }
+
+        boolean full(Bucket bucket, long now) {
+            return bucket.tokens() + (now - bucket.updatedNanos()) * perNano >= burst;
+        }
+    }
+
+    private final Limit accountLimit;
+    private final Limit ipLimit;
+    private final int maxKeys;
+
+    private final Map<String, Bucket> accounts = new ConcurrentHashMap<>();
+    private final Map<String, Bucket> addresses = new ConcurrentHashMap<>();
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder throttledAccount = new LongAdder();
+    private final LongAdder throttledIp = new LongAdder();
+
+    public LoginThrottle(@Value("${app.login.account.burst:5}") double accountBurst,
+                         @Value("${app.login.account.per-minute:5}") double accountPerMinute,
+                         @Value("${app.login.ip.burst:20}") double ipBurst,
+                         @Value("${app.login.ip.per-minute:60}") double ipPerMinute,
+                         @Value("${app.login.throttle.max-keys:100000}") int maxKeys) {
+        this.accountLimit = new Limit(accountBurst, accountPerMinute);
+        this.ipLimit = new Limit(ipBurst, ipPerMinute);
+        this.maxKeys = maxKeys;
+    }
+
+    // 0 if the attempt may go ahead, otherwise seconds until it may be retried
+    public long tryAcquire(String email, String ip) {
+        long now = System.nanoTime();
+        Bucket byIp = take(addresses, ip, ipLimit, now);
+        if (!byIp.granted()) {
+            throttledIp.increment();
+            return ipLimit.retryAfterSeconds(byIp);
+        }
+        Bucket byAccount = take(accounts, email.toLowerCase(Locale.ROOT), accountLimit, now);
+        if (!byAccount.granted()) {
+            throttledAccount.increment();
+            return accountLimit.retryAfterSeconds(byAccount);
+        }
+        allowed.increment();
+        return 0;
+    }
+
+    public ThrottleStats getStats() {
+        return new ThrottleStats(accounts.size(), addresses.size(), allowed.sum(), throttledAccount.sum(), throttledIp.sum());
+    }
+
+    private Bucket take(Map<String, Bucket> buckets, String key, Limit limit, long now) {
+        if (buckets.size() >= maxKeys && !buckets.containsKey(key)) {
+            evict(buckets, limit, now);
+        }
+        return buckets.compute(key, (k, bucket) -> limit.take(bucket, now));
+    }
+
+    // Drop buckets that have refilled (same as absent), then arbitrary ones until 10% under the bound
+    private void evict(Map<String, Bucket> buckets, Limit limit, long now) {
+        int target = maxKeys - Math.max(1, maxKeys / 10);
+        Iterator<Bucket> it = buckets.values().iterator();
+        while (it.hasNext()) {
+            if (limit.full(it.next(), now)) {
+                it.remove();
+            }
+        }
+        it = buckets.values().iterator();
+        while (buckets.size() > target && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+}
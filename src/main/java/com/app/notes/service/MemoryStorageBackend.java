@@ -0,0 +1,85 @@
+package com.app.notes.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+// Objects kept on the heap; for load tests and benchmarks that must not depend on GCS or disk speed
+@Service
+@ConditionalOnProperty(name = "storage.backend", havingValue = "memory")
+public class MemoryStorageBackend implements StorageBackend {
+
+    private record StoredObject(byte[] data, String contentType, long lastModified) {}
+
+    private final Map<String, StoredObject> objects = new ConcurrentHashMap<>();
+    private final String baseUrl;
+
+    public MemoryStorageBackend(@Value("${storage.local.base-url:http://localhost:8080}") String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    @Override
+    public String upload(InputStream in, String contentType, String objectPath) throws IOException {
+        objects.put(objectPath, new StoredObject(in.readAllBytes(), contentType, System.currentTimeMillis()));
+        return url(objectPath);
+    }
+
+    // Served through /files/download, like the local backend
+    @Override
+    public String url(String objectPath) {
+        String encodedPath = URLEncoder.encode(objectPath, StandardCharsets.UTF_8)
+            .replace("+", "%20");
+        return String.format("%s/files/download?path=%s", baseUrl, encodedPath);
+    }
+
+    @Override
+    public boolean delete(String objectPath) {
+        return objects.remove(objectPath) != null;
+    }
+
+    @Override
+    public String signedUrl(String objectPath, Duration ttl) {
+        return objects.containsKey(objectPath) ? url(objectPath) : null;
+    }
+
+    @Override
+    public ObjectInfo stat(String objectPath) {
+        StoredObject object = objects.get(objectPath);
+        return object == null ? null : new ObjectInfo(object.data().length, object.contentType(), object.lastModified());
+    }
+
+    @Override
+    public long transferTo(String objectPath, long position, long count, WritableByteChannel target) throws IOException {
+        StoredObject object = objects.get(objectPath);
+        if (object == null) {
+            throw new IOException("File not found: " + objectPath);
+        }
+        int start = (int) Math.min(position, object.data().length);
+        int end = (int) Math.min(position + count, object.data().length);
+        ByteBuffer buffer = ByteBuffer.wrap(object.data(), start, end - start);
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+        return end - start;
+    }
+
+    @Override
+    public String objectPath(String url) {
+        int query = url == null ? -1 : url.indexOf("/files/download?path=");
+        if (query < 0) {
+            return null;
+        }
+        return URLDecoder.decode(url.substring(query + "/files/download?path=".length()), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,108 @@
+package com.app.notes.service;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.NetworkInterface;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Invalidation transport over UDP multicast: no shared state and sub-millisecond
+ * fan-out, but datagrams can be lost. Messages are packed newline-separated
+ * into datagrams of at most {@value #MAX_DATAGRAM} bytes.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.bus.transport", havingValue = "multicast")
+public class MulticastInvalidationTransport implements InvalidationTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(MulticastInvalidationTransport.class);
+
+    // Fits in one Ethernet frame, so no IP fragmentation
+    private static final int MAX_DATAGRAM = 1400;
+
+    private final InetSocketAddress group;
+    private final String interfaceName;
+    private final int ttl;
+
+    private MulticastSocket socket;
+    private volatile boolean running;
+
+    public MulticastInvalidationTransport(@Value("${cache.bus.multicast.group:239.255.42.99}") String group,
+                                          @Value("${cache.bus.multicast.port:4446}") int port,
+                                          @Value("${cache.bus.multicast.interface:}") String interfaceName,
+                                          @Value("${cache.bus.multicast.ttl:1}") int ttl) throws IOException {
+        this.group = new InetSocketAddress(InetAddress.getByName(group), port);
+        this.interfaceName = interfaceName;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public void start(Consumer<String> receiver) throws IOException {
+        socket = new MulticastSocket(group.getPort());
+        socket.setTimeToLive(ttl);
+        NetworkInterface nic = interfaceName.isEmpty() ? null : NetworkInterface.getByName(interfaceName);
+        if (nic != null) {
+            socket.setNetworkInterface(nic);
+        }
+        socket.joinGroup(group, nic);
+        running = true;
+        Thread.ofPlatform().name("invalidation-multicast").daemon().start(() -> receive(receiver));
+    }
+
+    @Override
+    public void publish(List<String> messages) throws IOException {
+        StringBuilder datagram = new StringBuilder();
+        for (String message : messages) {
+            if (datagram.length() > 0 && datagram.length() + 1 + message.length() > MAX_DATAGRAM) {
+                send(datagram);
+                datagram.setLength(0);
+            }
+            if (datagram.length() > 0) datagram.append('\n');
+            datagram.append(message);
+        }
+        if (datagram.length() > 0) {
+            send(datagram);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (socket != null) {
+            socket.close();
+        }
+    }
+
+    private void send(StringBuilder datagram) throws IOException {
+        byte[] bytes = datagram.toString().getBytes(StandardCharsets.UTF_8);
+        socket.send(new DatagramPacket(bytes, bytes.length, group));
+    }
+
+    private void receive(Consumer<String> receiver) {
+        byte[] buffer = new byte[MAX_DATAGRAM * 2];
+        while (running) {
+            try {
+                DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+                socket.receive(packet);
+                String payload = new String(packet.getData(), 0, packet.getLength(), StandardCharsets.UTF_8);
+                for (String message : payload.split("\n")) {
+                    receiver.accept(message);
+                }
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("Invalidation multicast receive failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+}
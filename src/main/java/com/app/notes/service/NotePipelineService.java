@@ -0,0 +1,303 @@
+package com.app.notes.service;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.imageio.ImageIO;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.app.notes.dto.NotePreview;
+import com.app.notes.model.Note;
+import com.app.notes.model.NoteContent;
+import com.app.notes.repository.NoteContentRepository;
+import com.app.notes.repository.NoteRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Background pipeline that derives text, page count and a first-page
+ * thumbnail from each uploaded PDF.
+ *
+ * Each note runs on its own virtual thread; a semaphore caps how many are
+ * processed at once and notes beyond the queue capacity are left for the
+ * startup sweep. Results go to {@link NoteContent} and into the search index.
+ */
+@Service
+public class NotePipelineService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotePipelineService.class);
+
+    public static final String THUMBNAIL_PREFIX = "thumbnails/";
+
+    public record StageStats(long count, double avgMillis, double maxMillis) {}
+
+    public record PipelineStats(int queued, int active, long completed, long failed, long rejected,
+                                Map<String, StageStats> stages) {}
+
+    @FunctionalInterface
+    private interface Stage<T> {
+        T run() throws Exception;
+    }
+
+    private static final class StageTimer {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        <T> T time(Stage<T> stage) throws Exception {
+            long start = System.nanoTime();
+            try {
+                return stage.run();
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                count.increment();
+                totalNanos.add(elapsed);
+                maxNanos.accumulateAndGet(elapsed, Math::max);
+            }
+        }
+
+        StageStats snapshot() {
+            long n = count.sum();
+            return new StageStats(n, n == 0 ? 0 : totalNanos.sum() / 1e6 / n, maxNanos.get() / 1e6);
+        }
+    }
+
+    private final NoteRepository noteRepository;
+    private final NoteContentRepository contentRepository;
+    private final StorageService storageService;
+    private final SearchService searchService;
+    private final InvalidationBus invalidationBus;
+
+    private final int queueCapacity;
+    private final int maxTextChars;
+    private final float thumbnailDpi;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore slots;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    private final StageTimer fetch = new StageTimer();
+    private final StageTimer extract = new StageTimer();
+    private final StageTimer thumbnail = new StageTimer();
+    private final StageTimer store = new StageTimer();
+
+    public NotePipelineService(NoteRepository noteRepository,
+                               NoteContentRepository contentRepository,
+                               StorageService storageService,
+                               SearchService searchService,
+                               InvalidationBus invalidationBus,
+                               @Value("${pipeline.max-concurrency:2}") int maxConcurrency,
+                               @Value("${pipeline.queue-capacity:1000}") int queueCapacity,
+                               @Value("${pipeline.max-text-chars:200000}") int maxTextChars,
+                               @Value("${pipeline.thumbnail-dpi:36}") float thumbnailDpi) {
+        this.noteRepository = noteRepository;
+        this.contentRepository = contentRepository;
+        this.storageService = storageService;
+        this.searchService = searchService;
+        this.invalidationBus = invalidationBus;
+        this.slots = new Semaphore(maxConcurrency);
+        this.queueCapacity = queueCapacity;
+        this.maxTextChars = maxTextChars;
+        this.thumbnailDpi = thumbnailDpi;
+    }
+
+    // Queue a note for processing; returns immediately
+    public void submit(String noteId) {
+        if (queued.incrementAndGet() > queueCapacity) {
+            // Left unprocessed; the next startup sweep picks it up
+            queued.decrementAndGet();
+            rejected.increment();
+            return;
+        }
+        executor.submit(() -> run(noteId));
+    }
+
+    // Drop derived data when a note is deleted
+    public void discard(String noteId) {
+        contentRepository.findById(noteId).ifPresent(content -> {
+            if (content.getThumbnailPath() != null) {
+                try {
+                    storageService.deleteFile(content.getThumbnailPath());
+                } catch (Exception e) {
+                    log.warn("Failed to delete thumbnail for note {}: {}", noteId, e.getMessage());
+                }
+            }
+            contentRepository.delete(content);
+        });
+    }
+
+    public NotePreview getPreview(Long subjectId, String noteId) throws Exception {
+        if (!noteRepository.existsByIdAndSubjectId(noteId, subjectId)) throw new Exception("Note not found");
+        return contentRepository.findById(noteId)
+            .map(c -> new NotePreview(noteId, c.getStatus(), c.getPageCount(), c.getThumbnailPath() != null))
+            .orElse(new NotePreview(noteId, NoteContent.PENDING, null, false));
+    }
+
+    public String getThumbnailPath(Long subjectId, String noteId) throws Exception {
+        if (!noteRepository.existsByIdAndSubjectId(noteId, subjectId)) throw new Exception("Note not found");
+        return contentRepository.findById(noteId)
+            .map(NoteContent::getThumbnailPath)
+            .orElseThrow(() -> new Exception("Thumbnail not available"));
+    }
+
+    public PipelineStats getStats() {
+        Map<String, StageStats> stages = new LinkedHashMap<>();
+        stages.put("fetch", fetch.snapshot());
+        stages.put("extract", extract.snapshot());
+        stages.put("thumbnail", thumbnail.snapshot());
+        stages.put("store", store.snapshot());
+        return new PipelineStats(queued.get(), active.get(), completed.sum(), failed.sum(), rejected.sum(), stages);
+    }
+
+    // Pick up notes uploaded while the pipeline was down or full
+    @EventListener(ApplicationReadyEvent.class)
+    public void sweep() {
+        for (String noteId : contentRepository.findUnprocessedNoteIds()) {
+            submit(noteId);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(String noteId) {
+        try {
+            slots.acquire();
+        } catch (InterruptedException e) {
+            queued.decrementAndGet();
+            Thread.currentThread().interrupt();
+            return;
+        }
+        queued.decrementAndGet();
+        active.incrementAndGet();
+        try {
+            process(noteId);
+            completed.increment();
+        } catch (Exception e) {
+            failed.increment();
+            NoteContent content = new NoteContent(noteId, NoteContent.FAILED);
+            String message = String.valueOf(e.getMessage());
+            content.setError(message.length() > 255 ? message.substring(0, 255) : message);
+            content.setProcessedAt(Instant.now());
+            try {
+                // A deleted note's PENDING row goes too
+                if (!dropIfDeleted(noteId)) {
+                    contentRepository.save(content);
+                    dropIfDeleted(noteId);
+                }
+            } catch (Exception ignored) {
+                // The database is down; the sweep retries PENDING only
+            }
+        } finally {
+            active.decrementAndGet();
+            slots.release();
+        }
+    }
+
+    private void process(String noteId) throws Exception {
+        Note note = noteRepository.findById(noteId).orElse(null);
+        if (note == null) {
+            discard(noteId);
+            return;
+        }
+        String path = note.getFilePath() != null ? note.getFilePath() : storageService.objectPath(note.getFileUrl());
+        if (path == null || !path.toLowerCase().endsWith(".pdf")) {
+            NoteContent skipped = new NoteContent(noteId, NoteContent.SKIPPED);
+            skipped.setProcessedAt(Instant.now());
+            contentRepository.save(skipped);
+            return;
+        }
+        contentRepository.save(new NoteContent(noteId, NoteContent.PENDING));
+
+        Path temp = Files.createTempFile("note-", ".pdf");
+        try {
+            fetch.time(() -> {
+                StorageBackend.ObjectInfo info = storageService.stat(path);
+                if (info == null) throw new Exception("File not found: " + path);
+                try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                    return storageService.transferTo(path, 0, info.size(), out);
+                }
+            });
+
+            NoteContent content = new NoteContent(noteId, NoteContent.DONE);
+            try (PDDocument document = Loader.loadPDF(temp.toFile())) {
+                content.setPageCount(document.getNumberOfPages());
+                content.setText(extract.time(() -> {
+                    String text = new PDFTextStripper().getText(document);
+                    return text.length() > maxTextChars ? text.substring(0, maxTextChars) : text;
+                }));
+                if (document.getNumberOfPages() > 0) {
+                    content.setThumbnailPath(thumbnail.time(() -> renderThumbnail(document, noteId)));
+                }
+            }
+
+            store.time(() -> {
+                content.setProcessedAt(Instant.now());
+                contentRepository.save(content);
+                if (dropIfDeleted(noteId)) return null;
+                searchService.indexNote(note, content.getText());
+                // A delete that committed after the check has already removed its document, so look again
+                if (dropIfDeleted(noteId)) return null;
+                invalidationBus.contentChanged(noteId);
+                return null;
+            });
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // NoteContent has no foreign key to its note, so a delete during processing doesn't stop the writes
+    // above; undo them. True if the note is gone
+    private boolean dropIfDeleted(String noteId) {
+        if (noteRepository.existsById(noteId)) return false;
+        discard(noteId);
+        searchService.deleteNote(noteId);
+        // Rendered before a store that failed, so no row points at it
+        try {
+            storageService.deleteFile(THUMBNAIL_PREFIX + noteId + ".png");
+        } catch (Exception e) {
+            log.warn("Failed to delete thumbnail for note {}: {}", noteId, e.getMessage());
+        }
+        return true;
+    }
+
+    private String renderThumbnail(PDDocument document, String noteId) throws Exception {
+        BufferedImage image = new PDFRenderer(document).renderImageWithDPI(0, thumbnailDpi, ImageType.RGB);
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", png);
+        String path = THUMBNAIL_PREFIX + noteId + ".png";
+        storageService.upload(new ByteArrayInputStream(png.toByteArray()), "image/png", path);
+        return path;
+    }
+}
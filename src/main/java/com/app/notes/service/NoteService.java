@@ -1,11 +1,40 @@
 package com.app.notes.service;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Enumeration;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.app.notes.dto.BulkUploadResult;
+import com.app.notes.dto.NotePage;
 import com.app.notes.dto.NoteResponse;
 import com.app.notes.model.Note;
 import com.app.notes.model.Subject;
@@ -14,59 +43,347 @@ import com.app.notes.repository.NoteRepository;
 @Service
 public class NoteService {
 
+    private static final Logger log = LoggerFactory.getLogger(NoteService.class);
+
+    // One file of a bulk upload: a multipart part or a ZIP entry
+    private record Upload(String fileName, String contentType, BlobService.Source source) {}
+
+    // Position after the last row of a page, as carried in the next cursor
+    private record Cursor(Instant createdAt, String id) {}
+
+    // Fails once more than limit bytes come out of a ZIP entry, so an entry that lies about its size
+    // (a zip bomb) is cut off instead of inflating into storage or the heap
+    private static final class BoundedInputStream extends FilterInputStream {
+        private final String name;
+        private final long limit;
+        private long count;
+
+        BoundedInputStream(InputStream in, String name, long limit) {
+            super(in);
+            this.name = name;
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) count(n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count(skipped);
+            return skipped;
+        }
+
+        private void count(long n) throws IOException {
+            count += n;
+            if (count > limit) throw new IOException(name + " inflates past its declared size");
+        }
+    }
+
     private final NoteRepository repository;
     private final SubjectService subjectService;
     private final StorageService storageService;
+    private final BlobService blobService;
+    private final InvalidationBus invalidationBus;
+    private final SearchService searchService;
+    private final NotePipelineService pipelineService;
+
+    private final int bulkParallelism;
+    private final int bulkMaxFiles;
+    private final long maxFileSize;
+    private final long bulkMaxTotalSize;
 
-    public NoteService(NoteRepository repository, SubjectService subjectService, StorageService storageService) {
+    public NoteService(NoteRepository repository, SubjectService subjectService, StorageService storageService,
+                       BlobService blobService,
+                       InvalidationBus invalidationBus, SearchService searchService,
+                       NotePipelineService pipelineService,
+                       @Value("${notes.bulk.max-parallel:8}") int bulkParallelism,
+                       @Value("${notes.bulk.max-files:500}") int bulkMaxFiles,
+                       @Value("${spring.servlet.multipart.max-file-size:1MB}") DataSize maxFileSize,
+                       @Value("${notes.bulk.max-total-size:2GB}") DataSize bulkMaxTotalSize) {
         this.repository = repository;
         this.subjectService = subjectService;
         this.storageService = storageService;
+        this.blobService = blobService;
+        this.invalidationBus = invalidationBus;
+        this.searchService = searchService;
+        this.pipelineService = pipelineService;
+        this.bulkParallelism = bulkParallelism;
+        this.bulkMaxFiles = bulkMaxFiles;
+        this.maxFileSize = maxFileSize.toBytes();
+        this.bulkMaxTotalSize = bulkMaxTotalSize.toBytes();
     }
 
+    @Transactional(readOnly = true)
     public List<NoteResponse> getBySubjectId(Long subjectId) {
-        List<Note> notes = repository.findBySubjectId(subjectId);
-        return notes.stream()
-            .map(this::toResponse)
-            .collect(Collectors.toList());
+        return repository.findResponsesBySubjectId(subjectId);
+    }
+
+    // Keyset page ordered by (createdAt, id); after is the previous page's next cursor
+    @Transactional(readOnly = true)
+    public NotePage getPage(Long subjectId, String after, int limit) throws Exception {
+        // Fetch one extra row to learn whether another page exists
+        PageRequest window = PageRequest.of(0, limit + 1);
+        List<NoteResponse> rows;
+        if (after == null || after.isEmpty()) {
+            rows = repository.findFirstPage(subjectId, window);
+        } else {
+            Cursor cursor = decodeCursor(after);
+            rows = repository.findPageAfter(subjectId, cursor.createdAt(), cursor.id(), window);
+        }
+
+        if (rows.size() <= limit) {
+            return new NotePage(rows, null);
+        }
+        List<NoteResponse> items = rows.subList(0, limit);
+        NoteResponse last = items.get(limit - 1);
+        return new NotePage(List.copyOf(items), encodeCursor(last.createdAt(), last.id()));
+    }
+
+    // Give notes created before createdAt existed a sortable value
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillCreatedAt() {
+        repository.backfillCreatedAt(Instant.EPOCH);
     }
 
     public NoteResponse create(Long subjectId, String title, MultipartFile file) throws Exception {
         Subject subject = subjectService.getById(subjectId);
         if (subject == null) throw new Exception("Subject not found");
 
-        // Build GCS path: Stream/Semester/Subject/filename
-        String path = String.format("%s/%d/%s/%s",
-            subject.getSemester().getStream().getName(),
-            subject.getSemester().getNumber(),
-            subject.getName(),
-            file.getOriginalFilename()
-        );
+        // Identical bytes already uploaded elsewhere are referenced, not stored again
+        BlobService.StoredBlob blob = blobService.store(file);
 
-        String fileUrl = storageService.uploadFile(file, path);
-        
-        Note note = new Note(title, fileUrl, subject);
-        Note saved = repository.save(note);
+        Note note = new Note(title, blob.url(), subject);
+        note.setFilePath(blob.path());
+        note.setBlobDigest(blob.digest());
+        Note saved;
+        try {
+            saved = repository.save(note);
+        } catch (RuntimeException e) {
+            blobService.release(blob.digest());
+            throw e;
+        }
+        invalidationBus.notesSaved(List.of(saved.getId()), subjectId);
+        searchService.indexNote(saved);
+        pipelineService.submit(saved.getId());
         return toResponse(saved);
     }
 
+    // Upload several files, or ZIP archives of them, to one subject. Titles come from the file names.
+    // Storage writes run in parallel; the notes are then inserted in one batched transaction.
+    public List<BulkUploadResult> createBulk(Long subjectId, List<MultipartFile> files) throws Exception {
+        Subject subject = subjectService.getById(subjectId);
+        if (subject == null) throw new Exception("Subject not found");
+
+        List<ZipFile> archives = new ArrayList<>();
+        List<Path> temps = new ArrayList<>();
+        try {
+            List<Upload> uploads = new ArrayList<>();
+            // Bytes the request will write to storage: file sizes plus ZIP entries' declared (enforced) sizes
+            long totalSize = 0;
+            for (MultipartFile file : files) {
+                if (isZip(file)) {
+                    // ZipFile needs a real file, but then reads entries independently so they can upload in parallel
+                    Path temp = Files.createTempFile("bulk-", ".zip");
+                    temps.add(temp);
+                    file.transferTo(temp);
+                    ZipFile zip = new ZipFile(temp.toFile());
+                    archives.add(zip);
+                    totalSize += addEntries(zip, uploads);
+                } else if (!file.isEmpty()) {
+                    uploads.add(new Upload(baseName(file.getOriginalFilename()), file.getContentType(), file::getInputStream));
+                    totalSize += file.getSize();
+                }
+                if (uploads.size() > bulkMaxFiles) {
+                    throw new IllegalArgumentException("Too many files (max " + bulkMaxFiles + ")");
+                }
+                if (totalSize > bulkMaxTotalSize) {
+                    throw new IllegalArgumentException("Upload too large once unzipped (max " + bulkMaxTotalSize + " bytes)");
+                }
+            }
+            if (uploads.isEmpty()) throw new IllegalArgumentException("No files to upload");
+            return storeBulk(subject, uploads);
+        } finally {
+            for (ZipFile zip : archives) {
+                try {
+                    zip.close();
+                } catch (IOException ignored) {
+                }
+            }
+            for (Path temp : temps) {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
     public void delete(String id) throws Exception {
-        if (!repository.existsById(id)) throw new Exception("Note not found");
+        Note note = repository.findById(id).orElseThrow(() -> new Exception("Note not found"));
+        pipelineService.discard(id);
         repository.deleteById(id);
+        invalidationBus.noteDeleted(id, note.getSubject().getId());
+        searchService.deleteNote(id);
+        if (note.getBlobDigest() != null) {
+            try {
+                blobService.release(note.getBlobDigest());
+            } catch (Exception e) {
+                // The object stays until another note referencing it is deleted
+                log.warn("Failed to release blob {}: {}", note.getBlobDigest(), e.getMessage());
+            }
+        }
     }
 
+    @Transactional(readOnly = true)
     public NoteResponse getById(String id) throws Exception {
-        Note note = repository.findById(id).orElseThrow(() -> new Exception("Note not found"));
-        return toResponse(note);
+        return repository.findResponseById(id).orElseThrow(() -> new Exception("Note not found"));
+    }
+
+    // Storage object path of the note's file
+    public String getFilePath(Long subjectId, String id) throws Exception {
+        Note note = repository.findByIdAndSubjectId(id, subjectId).orElseThrow(() -> new Exception("Note not found"));
+        String path = note.getFilePath() != null ? note.getFilePath() : storageService.objectPath(note.getFileUrl());
+        if (path == null) throw new Exception("Note file not found");
+        return path;
+    }
+
+    private List<BulkUploadResult> storeBulk(Subject subject, List<Upload> uploads) throws Exception {
+        BulkUploadResult[] results = new BulkUploadResult[uploads.size()];
+        List<Future<BlobService.StoredBlob>> blobs = new ArrayList<>(uploads.size());
+
+        Semaphore permits = new Semaphore(bulkParallelism);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Upload upload : uploads) {
+                blobs.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return blobService.store(upload.source(), upload.fileName(), upload.contentType());
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        List<Note> notes = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < uploads.size(); i++) {
+            try {
+                BlobService.StoredBlob blob = blobs.get(i).get();
+                Note note = new Note(title(uploads.get(i).fileName()), blob.url(), subject);
+                note.setFilePath(blob.path());
+                note.setBlobDigest(blob.digest());
+                notes.add(note);
+                positions.add(i);
+            } catch (ExecutionException e) {
+                results[i] = new BulkUploadResult(uploads.get(i).fileName(), false, null,
+                    String.valueOf(e.getCause().getMessage()));
+            }
+        }
+
+        List<Note> saved;
+        try {
+            // saveAll runs in one transaction; hibernate.jdbc.batch_size turns the inserts into batches
+            saved = repository.saveAll(notes);
+        } catch (RuntimeException e) {
+            for (Note note : notes) {
+                try {
+                    blobService.release(note.getBlobDigest());
+                } catch (Exception ignored) {
+                }
+            }
+            throw e;
+        }
+
+        invalidationBus.notesSaved(saved.stream().map(Note::getId).toList(), subject.getId());
+        for (int j = 0; j < saved.size(); j++) {
+            Note note = saved.get(j);
+            searchService.indexNote(note);
+            pipelineService.submit(note.getId());
+            int i = positions.get(j);
+            results[i] = new BulkUploadResult(uploads.get(i).fileName(), true, toResponse(note), null);
+        }
+        return List.of(results);
+    }
+
+    // Adds the archive's files and returns their total declared size. Each entry is held to its declared
+    // size, which may not exceed max-file-size, however far its compressed bytes would inflate
+    private long addEntries(ZipFile zip, List<Upload> uploads) {
+        long total = 0;
+        Enumeration<? extends ZipEntry> entries = zip.entries();
+        while (entries.hasMoreElements()) {
+            ZipEntry entry = entries.nextElement();
+            String name = baseName(entry.getName());
+            // Skip folders and OS metadata (__MACOSX/, .DS_Store)
+            if (entry.isDirectory() || entry.getName().startsWith("__MACOSX/") || name.isEmpty() || name.startsWith(".")) {
+                continue;
+            }
+            long size = entry.getSize();
+            if (size < 0 || size > maxFileSize) {
+                throw new IllegalArgumentException(name + " is too large (max " + maxFileSize + " bytes)");
+            }
+            total += size;
+            String contentType = MediaTypeFactory.getMediaType(name)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+            uploads.add(new Upload(name, contentType, () -> new BoundedInputStream(zip.getInputStream(entry), name, size)));
+        }
+        return total;
+    }
+
+    private static boolean isZip(MultipartFile file) {
+        String name = file.getOriginalFilename();
+        String contentType = file.getContentType();
+        return (name != null && name.toLowerCase().endsWith(".zip"))
+            || "application/zip".equals(contentType)
+            || "application/x-zip-compressed".equals(contentType);
+    }
+
+    private static String baseName(String name) {
+        if (name == null) return "";
+        return name.substring(Math.max(name.lastIndexOf('/'), name.lastIndexOf('\\')) + 1);
+    }
+
+    // "Unit 1 - Basics.pdf" -> "Unit 1 - Basics"
+    private static String title(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(0, dot) : fileName;
+    }
+
+    private static String encodeCursor(Instant createdAt, String id) {
+        String raw = createdAt.getEpochSecond() + ":" + createdAt.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decodeCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 3);
+            if (parts.length != 3) throw new IllegalArgumentException();
+            // Numbers out of Instant's range throw DateTimeException rather than NumberFormatException
+            return new Cursor(Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1])), parts[2]);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
     }
 
-    private NoteResponse toResponse(Note note) {
+    // Package-private for the mapping benchmark (bench/jmh)
+    static NoteResponse toResponse(Note note) {
         return new NoteResponse(
             note.getId(),
             note.getTitle(),
             note.getFileUrl(),
             note.getSubject().getId(),
-            note.getSubject().getName()
+            note.getSubject().getName(),
+            note.getCreatedAt()
         );
     }
 }
@@ -0,0 +1,101 @@
+package com.app.notes.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.app.notes.model.InvalidationRecord;
+import com.app.notes.repository.InvalidationRecordRepository;
+
+/**
+ * Invalidation transport over the shared database: publishing inserts outbox
+ * rows, and every node polls for rows above the highest id it has applied.
+ *
+ * Ids are handed out before commit, so a gap may be a transaction that hasn't
+ * committed yet. The poller waits up to {@code gap-timeout-ms} for it before
+ * moving past (it was rolled back).
+ */
+@Component
+@ConditionalOnProperty(name = "cache.bus.transport", havingValue = "outbox")
+public class OutboxInvalidationTransport implements InvalidationTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxInvalidationTransport.class);
+
+    private static final int BATCH = 500;
+
+    private final InvalidationRecordRepository repository;
+    private final long pollIntervalMs;
+    private final long gapTimeoutMs;
+    private final Duration retention;
+
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("invalidation-outbox").daemon().factory());
+
+    private Consumer<String> receiver;
+    private long lastSeen;
+    private long gapSince;
+    private long lastPurge;
+
+    public OutboxInvalidationTransport(InvalidationRecordRepository repository,
+                                       @Value("${cache.bus.outbox.poll-interval-ms:1000}") long pollIntervalMs,
+                                       @Value("${cache.bus.outbox.gap-timeout-ms:5000}") long gapTimeoutMs,
+                                       @Value("${cache.bus.outbox.retention-minutes:10}") long retentionMinutes) {
+        this.repository = repository;
+        this.pollIntervalMs = pollIntervalMs;
+        this.gapTimeoutMs = gapTimeoutMs;
+        this.retention = Duration.ofMinutes(retentionMinutes);
+    }
+
+    @Override
+    public void start(Consumer<String> receiver) {
+        this.receiver = receiver;
+        // Only events from now on; caches start empty anyway
+        this.lastSeen = repository.findMaxId();
+        poller.scheduleWithFixedDelay(this::poll, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void publish(List<String> messages) {
+        repository.saveAll(messages.stream().map(InvalidationRecord::new).toList());
+    }
+
+    @Override
+    public void stop() {
+        poller.shutdownNow();
+    }
+
+    // Runs on the single poller thread only
+    private void poll() {
+        try {
+            long now = System.currentTimeMillis();
+            for (InvalidationRecord record : repository.findAfter(lastSeen, PageRequest.of(0, BATCH))) {
+                if (record.getId() != lastSeen + 1) {
+                    if (gapSince == 0) gapSince = now;
+                    if (now - gapSince < gapTimeoutMs) break;
+                }
+                gapSince = 0;
+                lastSeen = record.getId();
+                receiver.accept(record.getPayload());
+            }
+
+            // Every node purges; the delete is idempotent and cheap
+            if (now - lastPurge > retention.toMillis()) {
+                lastPurge = now;
+                repository.deleteOlderThan(Instant.now().minus(retention));
+            }
+        } catch (Exception e) {
+            log.warn("Invalidation outbox poll failed: {}", e.getMessage());
+        }
+    }
+}
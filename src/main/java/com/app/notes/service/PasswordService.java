@@ -0,0 +1,117 @@
+package com.app.notes.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * BCrypt hashing and verification on a small, bounded pool of platform threads.
+ *
+ * A verification costs tens of milliseconds of CPU by design, so it never runs
+ * on request threads: callers get a future, and once the queue is full new work
+ * is rejected instead of piling up behind a credential-stuffing burst. Stored
+ * values that are still plaintext, or hashed at a lower cost than configured,
+ * are reported by {@link #needsRehash(String)}.
+ */
+@Service
+public class PasswordService {
+
+    public record PasswordStats(int threads, int queued, int active, long verified, long hashed,
+                                long rejected, double avgVerifyMillis) {}
+
+    private static final Pattern BCRYPT = Pattern.compile("^\\$2[aby]?\\$\\d\\d\\$[./A-Za-z0-9]{53}$");
+
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    // A hash at the configured cost that no password is checked against for real
+    private final String dummyHash;
+
+    private final LongAdder verified = new LongAdder();
+    private final LongAdder verifyNanos = new LongAdder();
+    private final LongAdder hashed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public PasswordService(@Value("${app.password.bcrypt-strength:10}") int strength,
+                           @Value("${app.password.threads:2}") int threads,
+                           @Value("${app.password.queue-capacity:100}") int queueCapacity) {
+        this.encoder = new BCryptPasswordEncoder(strength);
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), task -> {
+                Thread thread = new Thread(task, "password-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        this.dummyHash = encoder.encode("dummy-" + System.nanoTime());
+    }
+
+    // Completes with whether raw matches stored (a BCrypt hash, or plaintext from before hashing)
+    public CompletableFuture<Boolean> verify(String raw, String stored) {
+        return submit(() -> {
+            long start = System.nanoTime();
+            boolean matches = isHashed(stored)
+                ? encoder.matches(raw, stored)
+                : MessageDigest.isEqual(raw.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+            verifyNanos.add(System.nanoTime() - start);
+            verified.increment();
+            return matches;
+        });
+    }
+
+    // Completes with false after the same work as verify() against a real hash, so an unknown
+    // account takes as long to reject as a wrong password
+    public CompletableFuture<Boolean> verifyDummy(String raw) {
+        return verify(raw, dummyHash).thenApply(matches -> false);
+    }
+
+    public CompletableFuture<String> hash(String raw) {
+        return submit(() -> {
+            hashed.increment();
+            return encoder.encode(raw);
+        });
+    }
+
+    // Plaintext, or BCrypt at a cost other than the configured one
+    public boolean needsRehash(String stored) {
+        return !isHashed(stored) || encoder.upgradeEncoding(stored);
+    }
+
+    public PasswordStats getStats() {
+        long n = verified.sum();
+        return new PasswordStats(executor.getMaximumPoolSize(), executor.getQueue().size(), executor.getActiveCount(),
+            n, hashed.sum(), rejected.sum(), n == 0 ? 0 : verifyNanos.sum() / 1e6 / n);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Rejections surface as a failed future (RejectedExecutionException) rather than a throw
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static boolean isHashed(String stored) {
+        return stored != null && BCRYPT.matcher(stored).matches();
+    }
+}
@@ -0,0 +1,308 @@
+package com.app.notes.service;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.app.notes.dto.SearchResult;
+import com.app.notes.model.Note;
+import com.app.notes.model.Semester;
+import com.app.notes.model.Stream;
+import com.app.notes.model.Subject;
+import com.app.notes.repository.NoteRepository;
+import com.app.notes.repository.StreamRepository;
+import com.app.notes.repository.SubjectRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Lucene index over notes (including extracted PDF text), subjects and
+ * streams, kept on local disk.
+ *
+ * Rebuilt from MySQL at startup and after hierarchy deletes (which cascade);
+ * notes, subjects and streams are added or removed incrementally otherwise.
+ * Queries run against a near-real-time reader and never touch the database.
+ */
+@Service
+public class SearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchService.class);
+
+    private final NoteRepository noteRepository;
+    private final SubjectRepository subjectRepository;
+    private final StreamRepository streamRepository;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    // Serializes index writes; a lock rather than synchronized so virtual threads doing I/O here don't pin
+    private final ReentrantLock indexLock = new ReentrantLock();
+
+    public SearchService(NoteRepository noteRepository,
+                         SubjectRepository subjectRepository,
+                         StreamRepository streamRepository,
+                         @Value("${search.index.dir:./search-index}") String indexDir) throws IOException {
+        this.noteRepository = noteRepository;
+        this.subjectRepository = subjectRepository;
+        this.streamRepository = streamRepository;
+        this.writer = new IndexWriter(FSDirectory.open(Paths.get(indexDir)), new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    // Prefix and fuzzy match on every query term; all terms must match somewhere
+    public List<SearchResult> search(String q, int limit) throws IOException {
+        List<String> terms = analyze(q);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String term : terms) {
+            BooleanQuery.Builder anyField = new BooleanQuery.Builder();
+            addTermQueries(anyField, "title", term, 2f);
+            addTermQueries(anyField, "context", term, 1f);
+            addTermQueries(anyField, "content", term, 0.5f);
+            query.add(anyField.build(), BooleanClause.Occur.MUST);
+        }
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs top = searcher.search(query.build(), limit);
+            StoredFields stored = searcher.storedFields();
+            List<SearchResult> results = new ArrayList<>(top.scoreDocs.length);
+            for (ScoreDoc hit : top.scoreDocs) {
+                results.add(toResult(stored.document(hit.doc), hit.score));
+            }
+            return results;
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    // Index mutations never fail the write that triggered them; the next rebuild repairs the index
+    public void indexNote(Note note) {
+        indexNote(note, null);
+    }
+
+    // content is the PDF text from the pipeline, or null before it has run
+    public void indexNote(Note note, String content) {
+        Subject subject = note.getSubject();
+        Semester semester = subject.getSemester();
+        Stream stream = semester.getStream();
+        put(noteDoc(note.getId(), note.getTitle(), note.getFileUrl(), subject.getId(), subject.getName(),
+            semester.getId(), semester.getNumber(), stream.getId(), stream.getName(), content));
+    }
+
+    public void indexSubject(Subject subject) {
+        Semester semester = subject.getSemester();
+        Stream stream = semester.getStream();
+        put(subjectDoc(subject.getId(), subject.getName(),
+            semester.getId(), semester.getNumber(), stream.getId(), stream.getName()));
+    }
+
+    public void indexStream(Stream stream) {
+        put(streamDoc(stream.getId(), stream.getName()));
+    }
+
+    public void deleteNote(String id) {
+        indexLock.lock();
+        try {
+            writer.deleteDocuments(new Term("uid", "note:" + id));
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.warn("Search index delete failed for note {}: {}", id, e.getMessage());
+        } finally {
+            indexLock.unlock();
+        }
+    }
+
+    // Hierarchy deletes cascade to everything below, so rebuild instead of tracking children
+    public void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (IOException e) {
+            log.error("Search index rebuild failed", e);
+        }
+    }
+
+    // Full rebuild from the database
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() throws IOException {
+        indexLock.lock();
+        try {
+            rebuildIndex();
+        } finally {
+            indexLock.unlock();
+        }
+    }
+
+    private void rebuildIndex() throws IOException {
+        writer.deleteAll();
+        for (Object[] r : streamRepository.findCatalogRows()) {
+            writer.addDocument(streamDoc((Long) r[0], (String) r[1]));
+        }
+        for (Object[] r : subjectRepository.findSearchRows()) {
+            writer.addDocument(subjectDoc((Long) r[0], (String) r[1],
+                (Long) r[2], (Integer) r[3], (Long) r[4], (String) r[5]));
+        }
+        for (Object[] r : noteRepository.findSearchRows()) {
+            writer.addDocument(noteDoc((String) r[0], (String) r[1], (String) r[2],
+                (Long) r[3], (String) r[4], (Long) r[5], (Integer) r[6], (Long) r[7], (String) r[8], (String) r[9]));
+        }
+        writer.commit();
+        searcherManager.maybeRefreshBlocking();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        analyzer.close();
+    }
+
+    private void put(Document doc) {
+        indexLock.lock();
+        try {
+            writer.updateDocument(new Term("uid", doc.get("uid")), doc);
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.warn("Search index update failed for {}: {}", doc.get("uid"), e.getMessage());
+        } finally {
+            indexLock.unlock();
+        }
+    }
+
+    private static void addTermQueries(BooleanQuery.Builder builder, String field, String term, float boost) {
+        Term t = new Term(field, term);
+        builder.add(new BoostQuery(new TermQuery(t), boost * 3), BooleanClause.Occur.SHOULD);
+        builder.add(new BoostQuery(new PrefixQuery(t), boost * 2), BooleanClause.Occur.SHOULD);
+        if (term.length() >= 4) {
+            builder.add(new BoostQuery(new FuzzyQuery(t, 1, 1), boost), BooleanClause.Occur.SHOULD);
+        }
+    }
+
+    private List<String> analyze(String text) throws IOException {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream tokens = analyzer.tokenStream("title", text)) {
+            CharTermAttribute attr = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken()) {
+                terms.add(attr.toString());
+            }
+            tokens.end();
+        }
+        return terms;
+    }
+
+    private static Document noteDoc(String id, String title, String fileUrl,
+                                    Long subjectId, String subjectName, Long semesterId, Integer semesterNumber,
+                                    Long streamId, String streamName, String content) {
+        Document doc = base("note", id, title);
+        doc.add(new StoredField("fileUrl", nullToEmpty(fileUrl)));
+        if (content != null) doc.add(new TextField("content", content, Field.Store.NO));
+        addHierarchy(doc, subjectId, subjectName, semesterId, semesterNumber, streamId, streamName);
+        return doc;
+    }
+
+    private static Document subjectDoc(Long id, String name, Long semesterId, Integer semesterNumber,
+                                       Long streamId, String streamName) {
+        Document doc = base("subject", String.valueOf(id), name);
+        addHierarchy(doc, id, name, semesterId, semesterNumber, streamId, streamName);
+        return doc;
+    }
+
+    private static Document streamDoc(Long id, String name) {
+        Document doc = base("stream", String.valueOf(id), name);
+        store(doc, "streamId", id);
+        doc.add(new StoredField("streamName", nullToEmpty(name)));
+        return doc;
+    }
+
+    private static Document base(String type, String id, String title) {
+        Document doc = new Document();
+        doc.add(new StringField("uid", type + ":" + id, Field.Store.YES));
+        doc.add(new StoredField("type", type));
+        doc.add(new StoredField("id", id));
+        doc.add(new TextField("title", nullToEmpty(title), Field.Store.YES));
+        return doc;
+    }
+
+    private static void addHierarchy(Document doc, Long subjectId, String subjectName, Long semesterId,
+                                     Integer semesterNumber, Long streamId, String streamName) {
+        doc.add(new TextField("context",
+            nullToEmpty(subjectName) + " semester " + (semesterNumber != null ? semesterNumber : "") + " "
+                + nullToEmpty(streamName), Field.Store.NO));
+        store(doc, "subjectId", subjectId);
+        doc.add(new StoredField("subjectName", nullToEmpty(subjectName)));
+        store(doc, "semesterId", semesterId);
+        if (semesterNumber != null) doc.add(new StoredField("semesterNumber", semesterNumber));
+        store(doc, "streamId", streamId);
+        doc.add(new StoredField("streamName", nullToEmpty(streamName)));
+    }
+
+    private static void store(Document doc, String field, Long value) {
+        if (value != null) doc.add(new StoredField(field, value));
+    }
+
+    private static SearchResult toResult(Document doc, float score) {
+        return new SearchResult(
+            doc.get("type"),
+            doc.get("id"),
+            doc.get("title"),
+            emptyToNull(doc.get("fileUrl")),
+            longOrNull(doc, "subjectId"),
+            emptyToNull(doc.get("subjectName")),
+            longOrNull(doc, "semesterId"),
+            doc.getField("semesterNumber") != null ? doc.getField("semesterNumber").numericValue().intValue() : null,
+            longOrNull(doc, "streamId"),
+            emptyToNull(doc.get("streamName")),
+            score
+        );
+    }
+
+    private static Long longOrNull(Document doc, String field) {
+        return doc.getField(field) != null ? doc.getField(field).numericValue().longValue() : null;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.stereotype.Service;
 
 import com.app.notes.model.Semester;
 import com.app.notes.model.Stream;
+import com.app.notes.repository.NoteRepository;
 import com.app.notes.repository.SemesterRepository;
 
 @Service
@@ -13,10 +14,22 @@ public class SemesterService {
 
     private final SemesterRepository repository;
     private final StreamService streamService;
+    private final InvalidationBus invalidationBus;
+    private final SearchService searchService;
+    private final NoteRepository noteRepository;
+    private final BlobService blobService;
+    private final NotePipelineService pipelineService;
 
-    public SemesterService(SemesterRepository repository, StreamService streamService) {
+    public SemesterService(SemesterRepository repository, StreamService streamService, InvalidationBus invalidationBus,
+                           SearchService searchService, NoteRepository noteRepository, BlobService blobService,
+                           NotePipelineService pipelineService) {
         this.repository = repository;
         this.streamService = streamService;
+        this.invalidationBus = invalidationBus;
+        this.searchService = searchService;
+        this.noteRepository = noteRepository;
+        this.blobService = blobService;
+        this.pipelineService = pipelineService;
     }
 
     public List<Semester> getByStreamId(Long streamId) {
@@ -29,7 +42,9 @@ public class SemesterService {
         Semester semester = new Semester();
         semester.setNumber(number);
         semester.setStream(stream);
-        return repository.save(semester);
+        Semester saved = repository.save(semester);
+        invalidationBus.hierarchyCreated("semester", saved.getId());
+        return saved;
     }
 
     public Semester getById(Long id) throws Exception {
@@ -38,6 +53,13 @@ public class SemesterService {
 
     public void delete(Long id) throws Exception {
         if (!repository.existsById(id)) throw new Exception("Semester not found");
+        // The delete cascades to notes, so drop their file references, content and thumbnails here
+        List<String> noteIds = noteRepository.findIdsBySemesterId(id);
+        List<String> digests = noteRepository.findBlobDigestsBySemesterId(id);
         repository.deleteById(id);
+        invalidationBus.hierarchyDeleted();
+        searchService.rebuildQuietly();
+        noteIds.forEach(pipelineService::discard);
+        blobService.releaseAll(digests);
     }
 }
@@ -0,0 +1,41 @@
+package com.app.notes.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Where note files actually live. Selected with {@code storage.backend}
+ * ({@code gcs} by default, or {@code local}).
+ */
+public interface StorageBackend {
+
+    record ObjectInfo(long size, String contentType, long lastModified) {}
+
+    // Store the stream under objectPath and return the URL clients should use
+    String upload(InputStream in, String contentType, String objectPath) throws IOException;
+
+    // URL clients should use for an object already stored under objectPath
+    String url(String objectPath);
+
+    boolean delete(String objectPath) throws IOException;
+
+    // Temporary download URL valid for ttl, or null if the object does not exist
+    String signedUrl(String objectPath, Duration ttl) throws IOException;
+
+    // Size/type/modification time, or null if the object does not exist
+    ObjectInfo stat(String objectPath) throws IOException;
+
+    // Copy [position, position + count) of the object into target
+    long transferTo(String objectPath, long position, long count, WritableByteChannel target) throws IOException;
+
+    // Object path behind a URL returned by upload(), or null if it isn't one of ours
+    String objectPath(String url);
+
+    // Backing file for sendfile, when the object is on local disk
+    default Path localFile(String objectPath) {
+        return null;
+    }
+}
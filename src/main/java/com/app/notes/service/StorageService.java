@@ -1,86 +1,149 @@
 package com.app.notes.service;
 
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.net.URL;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
-import java.util.UUID;
-import java.util.concurrent.TimeUnit;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import com.google.auth.oauth2.GoogleCredentials;
-import com.google.cloud.storage.Blob;
-import com.google.cloud.storage.BlobId;
-import com.google.cloud.storage.BlobInfo;
-import com.google.cloud.storage.Storage;
-import com.google.cloud.storage.StorageOptions;
-
 @Service
 public class StorageService {
 
-    @Value("${gcp.credentials.file}")
-    private String credentialsFile;
+    public record SignedUrlStats(int size, long hits, long misses, long evictions) {}
 
-    @Value("${gcp.bucket.name}")
-    private String bucketName;
+    // expiresAt is when the URL stops working (epoch millis)
+    public record SignedUrl(String url, long expiresAt) {
+        public long expiresInSeconds() {
+            return Math.max(0, (expiresAt - System.currentTimeMillis()) / 1000);
+        }
+    }
 
-    private Storage storage;
+    private final StorageBackend backend;
 
-    // Initialize GCP Storage client
-    private Storage getStorage() throws IOException {
-        if (storage == null) {
-            GoogleCredentials credentials = GoogleCredentials.fromStream(
-                new FileInputStream(credentialsFile)
-            );
-            storage = StorageOptions.newBuilder()
-                .setCredentials(credentials)
-                .build()
-                .getService();
-        }
-        return storage;
+    // Signed URLs are reused until safetyMargin before they expire
+    private final Duration signedUrlTtl;
+    private final long safetyMarginMs;
+    private final int maxSignedUrls;
+    private final Map<String, SignedUrl> signedUrls = new ConcurrentHashMap<>();
+    private final LongAdder signedUrlHits = new LongAdder();
+    private final LongAdder signedUrlMisses = new LongAdder();
+    private final LongAdder signedUrlEvictions = new LongAdder();
+
+    public StorageService(
+            StorageBackend backend,
+            @Value("${storage.signed-url.ttl-minutes:60}") long ttlMinutes,
+            @Value("${storage.signed-url.safety-margin-seconds:300}") long safetyMarginSeconds,
+            @Value("${storage.signed-url.cache-size:10000}") int maxSignedUrls) {
+        this.backend = backend;
+        this.signedUrlTtl = Duration.ofMinutes(ttlMinutes);
+        this.safetyMarginMs = Math.min(safetyMarginSeconds * 1000, signedUrlTtl.toMillis() / 2);
+        this.maxSignedUrls = maxSignedUrls;
     }
 
-    // Upload file to GCP Storage with custom path
+    // Upload file with custom path
     public String uploadFile(MultipartFile file, String objectPath) throws IOException {
-        BlobId blobId = BlobId.of(bucketName, objectPath);
-        BlobInfo blobInfo = BlobInfo.newBuilder(blobId)
-            .setContentType(file.getContentType())
-            .build();
-        
-        getStorage().create(blobInfo, file.getBytes());
-        
-        // Return public URL with properly encoded path
-        String encodedPath = URLEncoder.encode(objectPath, StandardCharsets.UTF_8)
-            .replace("+", "%20"); // Replace + with %20 for proper URL encoding
-        return String.format("https://storage.googleapis.com/%s/%s", bucketName, encodedPath);
+        try (InputStream in = file.getInputStream()) {
+            return upload(in, file.getContentType(), objectPath);
+        }
     }
 
-    // Upload file to GCP Storage (legacy - random filename)
-    public String uploadFile(MultipartFile file) throws IOException {
-        String fileName = UUID.randomUUID() + "-" + file.getOriginalFilename();
-        return uploadFile(file, fileName);
+    // Stream an upload to the configured backend; returns the file URL
+    public String upload(InputStream in, String contentType, String objectPath) throws IOException {
+        return backend.upload(in, contentType, objectPath);
     }
 
-    // Delete file from GCP Storage
+    // URL of an object that is already stored
+    public String url(String objectPath) {
+        return backend.url(objectPath);
+    }
+
+    // Delete file
     public boolean deleteFile(String fileName) throws IOException {
-        BlobId blobId = BlobId.of(bucketName, fileName);
-        return getStorage().delete(blobId);
+        signedUrls.remove(fileName);
+        return backend.delete(fileName);
     }
 
-    // Generate signed URL (temporary access, expires in 1 hour)
-    public String getSignedUrl(String fileName) throws IOException {
-        BlobId blobId = BlobId.of(bucketName, fileName);
-        Blob blob = getStorage().get(blobId);
-        
-        if (blob == null) {
+    // Generate signed URL (temporary access, expires after storage.signed-url.ttl-minutes); cached per object
+    // and reused until safetyMargin before it expires, so callers get the lifetime it has left
+    public SignedUrl getSignedUrl(String fileName) throws IOException {
+        long now = System.currentTimeMillis();
+        SignedUrl cached = signedUrls.get(fileName);
+        if (cached != null && reusable(cached, now)) {
+            signedUrlHits.increment();
+            return cached;
+        }
+
+        signedUrlMisses.increment();
+        String url = backend.signedUrl(fileName, signedUrlTtl);
+        if (url == null) {
+            signedUrls.remove(fileName);
             return null;
         }
+        if (signedUrls.size() >= maxSignedUrls) {
+            evictSignedUrls(now);
+        }
+        // Signed after now, so the URL outlives this expiry by the signing latency at most
+        SignedUrl signed = new SignedUrl(url, now + signedUrlTtl.toMillis());
+        signedUrls.put(fileName, signed);
+        return signed;
+    }
+
+    public SignedUrlStats getSignedUrlStats() {
+        return new SignedUrlStats(
+            signedUrls.size(),
+            signedUrlHits.sum(),
+            signedUrlMisses.sum(),
+            signedUrlEvictions.sum()
+        );
+    }
+
+    // Object metadata, or null if missing
+    public StorageBackend.ObjectInfo stat(String objectPath) throws IOException {
+        return backend.stat(objectPath);
+    }
+
+    // Copy a byte range of the object into target
+    public long transferTo(String objectPath, long position, long count, WritableByteChannel target) throws IOException {
+        return backend.transferTo(objectPath, position, count, target);
+    }
+
+    // Object path behind a stored file URL, or null if unknown
+    public String objectPath(String fileUrl) {
+        return backend.objectPath(fileUrl);
+    }
+
+    // Backing file on local disk, or null for remote backends
+    public Path localFile(String objectPath) {
+        return backend.localFile(objectPath);
+    }
+
+    // Drop expired entries, then arbitrary ones until the cache is 10% under its bound
+    private void evictSignedUrls(long now) {
+        int target = maxSignedUrls - Math.max(1, maxSignedUrls / 10);
+        Iterator<SignedUrl> it = signedUrls.values().iterator();
+        while (it.hasNext()) {
+            if (!reusable(it.next(), now)) {
+                it.remove();
+                signedUrlEvictions.increment();
+            }
+        }
+        it = signedUrls.values().iterator();
+        while (signedUrls.size() > target && it.hasNext()) {
+            it.next();
+            it.remove();
+            signedUrlEvictions.increment();
+        }
+    }
 
-        URL signedUrl = blob.signUrl(1, TimeUnit.HOURS);
-        return signedUrl.toString();
+    private boolean reusable(SignedUrl signed, long now) {
+        return signed.expiresAt() - safetyMarginMs > now;
     }
 }
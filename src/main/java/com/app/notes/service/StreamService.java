@@ -5,15 +5,28 @@ import java.util.List;
 import org.springframework.stereotype.Service;
 
 import com.app.notes.model.Stream;
+import com.app.notes.repository.NoteRepository;
 import com.app.notes.repository.StreamRepository;
 
 @Service
 public class StreamService {
 
     private final StreamRepository repository;
-
-    public StreamService(StreamRepository repository) {
+    private final InvalidationBus invalidationBus;
+    private final SearchService searchService;
+    private final NoteRepository noteRepository;
+    private final BlobService blobService;
+    private final NotePipelineService pipelineService;
+
+    public StreamService(StreamRepository repository, InvalidationBus invalidationBus,
+                         SearchService searchService, NoteRepository noteRepository, BlobService blobService,
+                         NotePipelineService pipelineService) {
         this.repository = repository;
+        this.invalidationBus = invalidationBus;
+        this.searchService = searchService;
+        this.noteRepository = noteRepository;
+        this.blobService = blobService;
+        this.pipelineService = pipelineService;
     }
 
     public List<Stream> getAll() {
@@ -23,7 +36,10 @@ public class StreamService {
     public Stream create(String name) {
         Stream stream = new Stream();
         stream.setName(name);
-        return repository.save(stream);
+        Stream saved = repository.save(stream);
+        invalidationBus.hierarchyCreated("stream", saved.getId());
+        searchService.indexStream(saved);
+        return saved;
     }
 
     public Stream getById(Long id) throws Exception {
@@ -32,6 +48,13 @@ public class StreamService {
 
     public void delete(Long id) throws Exception {
         if (!repository.existsById(id)) throw new Exception("Stream not found");
+        // The delete cascades to notes, so drop their file references, content and thumbnails here
+        List<String> noteIds = noteRepository.findIdsByStreamId(id);
+        List<String> digests = noteRepository.findBlobDigestsByStreamId(id);
         repository.deleteById(id);
+        invalidationBus.hierarchyDeleted();
+        searchService.rebuildQuietly();
+        noteIds.forEach(pipelineService::discard);
+        blobService.releaseAll(digests);
     }
 }
@@ -6,6 +6,7 @@ import org.springframework.stereotype.Service;
 
 import com.app.notes.model.Semester;
 import com.app.notes.model.Subject;
+import com.app.notes.repository.NoteRepository;
 import com.app.notes.repository.SubjectRepository;
 
 @Service
@@ -13,10 +14,22 @@ public class SubjectService {
 
     private final SubjectRepository repository;
     private final SemesterService semesterService;
+    private final InvalidationBus invalidationBus;
+    private final SearchService searchService;
+    private final NoteRepository noteRepository;
+    private final BlobService blobService;
+    private final NotePipelineService pipelineService;
 
-    public SubjectService(SubjectRepository repository, SemesterService semesterService) {
+    public SubjectService(SubjectRepository repository, SemesterService semesterService, InvalidationBus invalidationBus,
+                          SearchService searchService, NoteRepository noteRepository, BlobService blobService,
+                          NotePipelineService pipelineService) {
         this.repository = repository;
         this.semesterService = semesterService;
+        this.invalidationBus = invalidationBus;
+        this.searchService = searchService;
+        this.noteRepository = noteRepository;
+        this.blobService = blobService;
+        this.pipelineService = pipelineService;
     }
 
     public List<Subject> getBySemesterId(Long semesterId) {
@@ -29,7 +42,10 @@ public class SubjectService {
         Subject subject = new Subject();
         subject.setName(name);
         subject.setSemester(semester);
-        return repository.save(subject);
+        Subject saved = repository.save(subject);
+        invalidationBus.hierarchyCreated("subject", saved.getId());
+        searchService.indexSubject(saved);
+        return saved;
     }
 
     public Subject getById(Long id) throws Exception {
@@ -38,6 +54,13 @@ public class SubjectService {
 
     public void delete(Long id) throws Exception {
         if (!repository.existsById(id)) throw new Exception("Subject not found");
+        // The delete cascades to notes, so drop their file references, content and thumbnails here
+        List<String> noteIds = noteRepository.findIdsBySubjectId(id);
+        List<String> digests = noteRepository.findBlobDigestsBySubjectId(id);
         repository.deleteById(id);
+        invalidationBus.hierarchyDeleted();
+        searchService.rebuildQuietly();
+        noteIds.forEach(pipelineService::discard);
+        blobService.releaseAll(digests);
     }
 }
@@ -0,0 +1,254 @@
+package com.app.notes.service;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import com.app.notes.model.TokenRevocation;
+import com.app.notes.repository.TokenRevocationRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Revoked tokens and banned users, checked by JwtFilter on every request
+ * without touching the database.
+ *
+ * Revoked jtis sit in one set per minute of token expiry, so a check hashes
+ * into exactly one bucket and a whole minute is dropped at once when its tokens
+ * can no longer be presented anyway. Users carry a cutoff: their tokens issued
+ * at or before it are rejected, and all of them while the ban lasts. Every
+ * entry is also a row in {@code token_revocations}, loaded at startup; other
+ * nodes learn about new rows through {@link InvalidationBus#tokenRevoked(String)}.
+ * That bus may drop events, so each node also re-reads the rows changed since
+ * its previous look every poll interval; a lost event delays a revocation by
+ * at most that long.
+ */
+@Service
+public class TokenDenylist {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenDenylist.class);
+
+    public record DenylistStats(long tokens, int buckets, int users, long banned, long checks, long rejected) {}
+
+    private static final long BUCKET_MS = 60_000;
+    // Re-read this much before the previous reload, for commits that landed late and nodes' clock skew
+    private static final long RELOAD_OVERLAP_MS = 10_000;
+
+    // notBefore: epoch millis; expiresAt is Long.MAX_VALUE while banned
+    private record Cutoff(long notBefore, long expiresAt) {
+        boolean banned() {
+            return expiresAt == Long.MAX_VALUE;
+        }
+    }
+
+    private final TokenRevocationRepository repository;
+    private final long purgeMinutes;
+    private final long reloadMs;
+    // Start of the previous reload; rows updated after it (minus the overlap) are read again
+    private volatile Instant lastReload;
+
+    // Minute of expiry -> revoked jtis expiring in that minute
+    private final Map<Long, Set<String>> buckets = new ConcurrentHashMap<>();
+    private final Map<String, Cutoff> users = new ConcurrentHashMap<>();
+
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    private final ScheduledExecutorService pruner = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("token-denylist-prune").daemon().factory());
+
+    public TokenDenylist(TokenRevocationRepository repository,
+                         MeterRegistry registry,
+                         @Value("${app.jwt.denylist.purge-minutes:60}") long purgeMinutes,
+                         @Value("${cache.bus.outbox.poll-interval-ms:1000}") long reloadMs) {
+        this.repository = repository;
+        this.purgeMinutes = purgeMinutes;
+        this.reloadMs = reloadMs;
+        Gauge.builder("notes.jwt.denylist.size", this, denylist -> denylist.tokenCount())
+            .description("Revoked tokens that have not expired yet")
+            .register(registry);
+    }
+
+    // Load before the web server takes requests, so a restart never lets a revoked token through
+    @PostConstruct
+    public void start() {
+        int loaded = 0;
+        lastReload = Instant.now();
+        for (TokenRevocation revocation : repository.findActive(lastReload)) {
+            apply(revocation);
+            loaded++;
+        }
+        log.info("Token denylist loaded {} revocation(s)", loaded);
+        pruner.scheduleWithFixedDelay(this::prune, 1, 1, TimeUnit.MINUTES);
+        if (reloadMs > 0) {
+            pruner.scheduleWithFixedDelay(this::reloadChanged, reloadMs, reloadMs, TimeUnit.MILLISECONDS);
+        }
+        if (purgeMinutes > 0) {
+            pruner.scheduleWithFixedDelay(this::purge, purgeMinutes, purgeMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        pruner.shutdownNow();
+    }
+
+    // True if the token must be rejected; jti and issuedAt may be null for tokens issued before they were added
+    public boolean isRevoked(String jti, String subject, Long issuedAt, long expiresAt) {
+        checks.increment();
+        boolean revoked = false;
+        if (jti != null) {
+            Set<String> bucket = buckets.get(expiresAt / BUCKET_MS);
+            revoked = bucket != null && bucket.contains(jti);
+        }
+        if (!revoked && subject != null && !users.isEmpty()) {
+            Cutoff cutoff = users.get(key(subject));
+            revoked = cutoff != null && (cutoff.banned() || issuedAt == null || issuedAt <= cutoff.notBefore());
+        }
+        if (revoked) rejected.increment();
+        return revoked;
+    }
+
+    public boolean isBanned(String email) {
+        Cutoff cutoff = users.isEmpty() ? null : users.get(key(email));
+        return cutoff != null && cutoff.banned();
+    }
+
+    // Revoke one token; returns the revocation id to publish, or null if it was already revoked, here or on
+    // another node. The row decides: of two concurrent revocations only one INSERT succeeds
+    public String revoke(String jti, String subject, long expiresAt) {
+        TokenRevocation revocation = new TokenRevocation(jti, subject, Instant.now(), Instant.ofEpochMilli(expiresAt));
+        try {
+            repository.saveAndFlush(revocation);
+        } catch (DataIntegrityViolationException e) {
+            reload(jti);
+            return null;
+        }
+        apply(revocation);
+        return revocation.getId();
+    }
+
+    // Reject every token the user holds, and any refresh or login, until unban()
+    public String ban(String email) {
+        TokenRevocation revocation = repository.findById(userId(email)).orElse(null);
+        if (revocation == null) {
+            revocation = new TokenRevocation(userId(email), key(email), Instant.now(), null);
+        } else {
+            // Banned again, or while an earlier ban's cutoff is still kept
+            revocation.setRevokedAt(Instant.now());
+            revocation.setExpiresAt(null);
+            revocation.setUpdatedAt(revocation.getRevokedAt());
+        }
+        try {
+            repository.saveAndFlush(revocation);
+        } catch (DataIntegrityViolationException e) {
+            // Another admin banned the same user at the same moment; update their row instead
+            return ban(email);
+        }
+        apply(revocation);
+        return revocation.getId();
+    }
+
+    // Lift a ban; tokens issued before it stay revoked until the longest-lived of them has expired
+    public String unban(String email, long maxTokenTtlMs) {
+        TokenRevocation revocation = repository.findById(userId(email)).orElse(null);
+        if (revocation == null) return null;
+        revocation.setExpiresAt(Instant.now().plusMillis(maxTokenTtlMs));
+        revocation.setUpdatedAt(Instant.now());
+        repository.save(revocation);
+        apply(revocation);
+        return revocation.getId();
+    }
+
+    // Another node wrote a revocation; read it back rather than trusting the message
+    public void reload(String id) {
+        TokenRevocation revocation = repository.findById(id).orElse(null);
+        if (revocation != null) {
+            apply(revocation);
+        }
+    }
+
+    public DenylistStats getStats() {
+        long banned = users.values().stream().filter(Cutoff::banned).count();
+        return new DenylistStats(tokenCount(), buckets.size(), users.size(), banned, checks.sum(), rejected.sum());
+    }
+
+    private void apply(TokenRevocation revocation) {
+        long expiresAt = revocation.getExpiresAt() == null ? Long.MAX_VALUE : revocation.getExpiresAt().toEpochMilli();
+        if (revocation.isUser()) {
+            users.put(key(revocation.getSubject()), new Cutoff(revocation.getRevokedAt().toEpochMilli(), expiresAt));
+        } else if (expiresAt > System.currentTimeMillis()) {
+            buckets.computeIfAbsent(expiresAt / BUCKET_MS, minute -> ConcurrentHashMap.newKeySet())
+                .add(revocation.getId());
+        }
+    }
+
+    // Rows written by other nodes since the previous reload, whether or not their event arrived
+    private void reloadChanged() {
+        Instant started = Instant.now();
+        try {
+            for (TokenRevocation revocation : repository.findUpdatedSince(lastReload.minusMillis(RELOAD_OVERLAP_MS))) {
+                apply(revocation);
+            }
+            lastReload = started;
+        } catch (Exception e) {
+            log.warn("Token revocation reload failed, retrying: {}", e.getMessage());
+        }
+    }
+
+    // Drop whole minutes whose tokens have all expired, and lapsed user cutoffs
+    private void prune() {
+        long now = System.currentTimeMillis();
+        long currentMinute = now / BUCKET_MS;
+        buckets.keySet().removeIf(minute -> minute < currentMinute);
+        Iterator<Cutoff> it = users.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().expiresAt() <= now) {
+                it.remove();
+            }
+        }
+    }
+
+    // Every node runs this; the delete is idempotent
+    private void purge() {
+        try {
+            int deleted = repository.deleteExpired(Instant.now());
+            if (deleted > 0) log.info("Purged {} expired token revocation(s)", deleted);
+        } catch (Exception e) {
+            log.warn("Token revocation purge failed: {}", e.getMessage());
+        }
+    }
+
+    private long tokenCount() {
+        long count = 0;
+        for (Set<String> bucket : buckets.values()) {
+            count += bucket.size();
+        }
+        return count;
+    }
+
+    private static String userId(String email) {
+        return TokenRevocation.USER_PREFIX + key(email);
+    }
+
+    // Emails are compared case-insensitively, as in UserCredentialCache
+    private static String key(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
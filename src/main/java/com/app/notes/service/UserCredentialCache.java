@@ -0,0 +1,265 @@
+package com.app.notes.service;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.app.notes.model.User;
+import com.app.notes.repository.UserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-memory answers to "who is this email?" for login and registration.
+ *
+ * Known users' credentials are cached for a TTL. A Bloom filter of every
+ * registered email, rebuilt at startup and updated through
+ * {@link InvalidationBus#userChanged(String)}, answers "no such user" without a
+ * query, so logins and duplicate checks for unknown emails never reach MySQL.
+ * Until the first rebuild finishes every email counts as possibly known. Users
+ * registered on other nodes are also read back every poll interval, so a lost
+ * bus event doesn't turn them away. The periodic rebuild picks up users
+ * inserted directly into the database.
+ */
+@Service
+public class UserCredentialCache {
+
+    private static final Logger log = LoggerFactory.getLogger(UserCredentialCache.class);
+
+    public record Credentials(Long id, String password, String role) {}
+
+    // inMemoryRatio: share of lookups answered without a query (cached or ruled out by the filter)
+    public record UserCacheStats(int size, long hits, long loaded, long absent, long falsePositives,
+                                 double inMemoryRatio, long bloomEmails, double bloomFalsePositiveRate, boolean bloomReady) {}
+
+    private record Entry(Credentials credentials, long expiresAt) {}
+
+    // Re-read this much before the previous catch-up, for commits that landed late and nodes' clock skew
+    private static final long CATCH_UP_OVERLAP_MS = 10_000;
+
+    private final UserRepository userRepository;
+    private final long ttlMs;
+    private final int maxEntries;
+    private final long expectedUsers;
+    private final double falsePositiveRate;
+    private final long rebuildMinutes;
+    private final long catchUpMs;
+    // Start of the previous rebuild or catch-up; users created after it (minus the overlap) are read again
+    private volatile Instant lastCatchUp;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    // null until the startup rebuild; writes during a rebuild also go to building
+    private volatile BloomFilter emails;
+    private volatile BloomFilter building;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("user-filter-rebuild").daemon().factory());
+
+    // notes.auth.user.lookups by result: cached, loaded (from MySQL), absent (Bloom filter), not_found (false positive)
+    private final Counter hits;
+    private final Counter loaded;
+    private final Counter absent;
+    private final Counter notFound;
+
+    public UserCredentialCache(UserRepository userRepository,
+                               MeterRegistry registry,
+                               @Value("${app.auth.user-cache.ttl-seconds:300}") long ttlSeconds,
+                               @Value("${app.auth.user-cache.size:10000}") int maxEntries,
+                               @Value("${app.auth.bloom.expected-users:100000}") long expectedUsers,
+                               @Value("${app.auth.bloom.false-positive-rate:0.01}") double falsePositiveRate,
+                               @Value("${app.auth.bloom.rebuild-minutes:15}") long rebuildMinutes,
+                               @Value("${cache.bus.outbox.poll-interval-ms:1000}") long catchUpMs) {
+        this.userRepository = userRepository;
+        this.ttlMs = ttlSeconds * 1000;
+        this.maxEntries = maxEntries;
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+        this.rebuildMinutes = rebuildMinutes;
+        this.catchUpMs = catchUpMs;
+        this.hits = lookupCounter(registry, "cached");
+        this.loaded = lookupCounter(registry, "loaded");
+        this.absent = lookupCounter(registry, "absent");
+        this.notFound = lookupCounter(registry, "not_found");
+        Gauge.builder("notes.auth.bloom.emails", this, cache -> cache.emails == null ? 0 : cache.emails.added())
+            .description("Emails in the known-user Bloom filter")
+            .register(registry);
+        Gauge.builder("notes.auth.bloom.false.positive.rate", this,
+                cache -> cache.emails == null ? 1 : cache.emails.falsePositiveRate())
+            .description("Expected false-positive rate of the known-user Bloom filter")
+            .register(registry);
+    }
+
+    // Credentials for a login, or empty if no such user
+    public Optional<Credentials> find(String email) {
+        String key = key(email);
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt() > now) {
+            hits.increment();
+            return Optional.of(entry.credentials());
+        }
+        if (!mightExist(key)) {
+            absent.increment();
+            return Optional.empty();
+        }
+        User user = userRepository.findByEmail(email).orElse(null);
+        if (user == null) {
+            notFound.increment();
+            return Optional.empty();
+        }
+        Credentials credentials = new Credentials(user.getId(), user.getPassword(), user.getRole());
+        if (entries.size() >= maxEntries) {
+            evict(now);
+        }
+        entries.put(key, new Entry(credentials, now + ttlMs));
+        loaded.increment();
+        return Optional.of(credentials);
+    }
+
+    // Registration duplicate check; only emails the filter might know cost a query
+    public boolean exists(String email) {
+        String key = key(email);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt() > System.currentTimeMillis()) {
+            hits.increment();
+            return true;
+        }
+        if (!mightExist(key)) {
+            absent.increment();
+            return false;
+        }
+        boolean exists = userRepository.existsByEmail(email);
+        (exists ? loaded : notFound).increment();
+        return exists;
+    }
+
+    // Called for every USER invalidation, local or from another node
+    public void changed(String email) {
+        String key = key(email);
+        BloomFilter current = emails;
+        if (current != null) current.add(key);
+        BloomFilter next = building;
+        if (next != null) next.add(key);
+        entries.remove(key);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        rebuild();
+        if (rebuildMinutes > 0) {
+            rebuilder.scheduleWithFixedDelay(() -> {
+                try {
+                    rebuild();
+                } catch (Exception e) {
+                    log.warn("Known-user filter rebuild failed: {}", e.getMessage());
+                }
+            }, rebuildMinutes, rebuildMinutes, TimeUnit.MINUTES);
+        }
+        if (catchUpMs > 0) {
+            rebuilder.scheduleWithFixedDelay(this::catchUp, catchUpMs, catchUpMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        rebuilder.shutdownNow();
+    }
+
+    // Load every email into a fresh filter sized for the table, then swap it in
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            Instant started = Instant.now();
+            long start = started.toEpochMilli();
+            BloomFilter next = new BloomFilter(Math.max(expectedUsers, userRepository.count() * 2), falsePositiveRate);
+            building = next;
+            for (String email : userRepository.findAllEmails()) {
+                next.add(key(email));
+            }
+            emails = next;
+            building = null;
+            lastCatchUp = started;
+            log.info("Known-user filter rebuilt with {} emails in {} ms", next.added(), System.currentTimeMillis() - start);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // Add users registered since the last look, in case their USER event never arrived
+    private void catchUp() {
+        Instant since = lastCatchUp;
+        if (since == null) return;
+        Instant started = Instant.now();
+        try {
+            for (String email : userRepository.findEmailsCreatedSince(since.minusMillis(CATCH_UP_OVERLAP_MS))) {
+                String key = key(email);
+                emails.add(key);
+                BloomFilter next = building;
+                if (next != null) next.add(key);
+            }
+            lastCatchUp = started;
+        } catch (Exception e) {
+            log.warn("Known-user catch-up failed, retrying: {}", e.getMessage());
+        }
+    }
+
+    public UserCacheStats getStats() {
+        long h = (long) hits.count();
+        long lookups = h + (long) loaded.count() + (long) absent.count() + (long) notFound.count();
+        BloomFilter current = emails;
+        return new UserCacheStats(entries.size(), h, (long) loaded.count(), (long) absent.count(), (long) notFound.count(),
+            lookups == 0 ? 0 : (double) (h + (long) absent.count()) / lookups,
+            current == null ? 0 : current.added(), current == null ? 1 : current.falsePositiveRate(), current != null);
+    }
+
+    private boolean mightExist(String key) {
+        BloomFilter current = emails;
+        return current == null || current.mightContain(key);
+    }
+
+    // MySQL compares emails case-insensitively, so the cache does too
+    private static String key(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter lookupCounter(MeterRegistry registry, String result) {
+        return Counter.builder("notes.auth.user.lookups")
+            .description("Login and registration email lookups")
+            .tag("result", result)
+            .register(registry);
+    }
+
+    // Drop expired entries, then arbitrary ones until the cache is 10% under its bound
+    private void evict(long now) {
+        int target = maxEntries - Math.max(1, maxEntries / 10);
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().expiresAt() <= now) {
+                it.remove();
+            }
+        }
+        it = entries.values().iterator();
+        while (entries.size() > target && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+}
@@ -1,7 +1,10 @@
 // API Configuration
 const API_BASE_URL = window.location.origin;
 let token = localStorage.getItem('token');
+let refreshToken = localStorage.getItem('refreshToken');
 let userRole = localStorage.getItem('role');
+// The refresh in flight in this tab, shared by concurrent 401s
+let refreshing = null;
 let currentStreamId = null;
 let currentSemesterId = null;
 let currentSubjectId = null;
@@ -70,10 +73,7 @@ async function handleLogin(e) {
         
         if (response.ok) {
             const data = await response.json();
-            token = data.accessToken;
-            userRole = data.role;
-            localStorage.setItem('token', token);
-            localStorage.setItem('role', userRole);
+            storeTokens(data);
             
             showPage('streamsPage');
             loadStreams();
@@ -128,11 +128,75 @@ async function handleRegister(e) {
     }
 }
 
+function storeTokens(data) {
+    token = data.accessToken;
+    refreshToken = data.refreshToken;
+    userRole = data.role;
+    localStorage.setItem('token', token);
+    localStorage.setItem('refreshToken', refreshToken);
+    localStorage.setItem('role', userRole);
+}
+
+// Swap the refresh token for a new pair; false if it expired or was revoked.
+// Tabs share one pair through localStorage and a refresh token works once, so refreshes run one at
+// a time (per tab, and across tabs where Web Locks exist) and a pair another tab rotated is adopted.
+// rejected is the access token that just got a 401
+function refreshTokens(rejected) {
+    if (!refreshing) {
+        const run = () => rotateTokens(rejected);
+        refreshing = (navigator.locks ? navigator.locks.request('notes-token-refresh', run) : run())
+            .finally(() => { refreshing = null; });
+    }
+    return refreshing;
+}
+
+async function rotateTokens(rejected) {
+    // Another tab refreshed after our request was sent: use its pair
+    if (localStorage.getItem('token') !== rejected && adoptStoredTokens()) return true;
+    const current = localStorage.getItem('refreshToken');
+    if (!current) return false;
+    const response = await fetch(`${API_BASE_URL}/auth/refresh`, {
+        method: 'POST',
+        headers: { 'Content-Type': 'application/json' },
+        body: JSON.stringify({ refreshToken: current })
+    });
+    if (response.ok) {
+        storeTokens(await response.json());
+        return true;
+    }
+    // Without Web Locks another tab may have used the same token first; take its pair if it has landed
+    return localStorage.getItem('refreshToken') !== current && adoptStoredTokens();
+}
+
+// Load the pair in localStorage into this tab; false if there is none
+function adoptStoredTokens() {
+    if (!localStorage.getItem('refreshToken')) return false;
+    token = localStorage.getItem('token');
+    refreshToken = localStorage.getItem('refreshToken');
+    userRole = localStorage.getItem('role');
+    return true;
+}
+
 // Logout Handler
 function handleLogout() {
+    // Revoke both tokens server-side; the local session ends either way. Another tab may have rotated them
+    adoptStoredTokens();
+    if (token) {
+        fetch(`${API_BASE_URL}/auth/logout`, {
+            method: 'POST',
+            headers: { 'Content-Type': 'application/json', 'Authorization': `Bearer ${token}` },
+            body: JSON.stringify({ refreshToken })
+        }).catch(() => {});
+    }
+    clearSession();
+}
+
+function clearSession() {
     token = null;
+    refreshToken = null;
     userRole = null;
     localStorage.removeItem('token');
+    localStorage.removeItem('refreshToken');
     localStorage.removeItem('role');
     showPage('loginPage');
     document.getElementById('loginForm').reset();
@@ -167,10 +231,11 @@ function closeModal(modalId) {
 }
 
 // API Call Helper
-async function apiCall(url, options = {}) {
+async function apiCall(url, options = {}, retries = 0) {
+    const sent = token;
     const headers = {
         ...options.headers,
-        'Authorization': `Bearer ${token}`
+        'Authorization': `Bearer ${sent}`
     };
     
     const response = await fetch(`${API_BASE_URL}${url}`, {
@@ -179,7 +244,12 @@ async function apiCall(url, options = {}) {
     });
     
     if (response.status === 401) {
-        handleLogout();
+        // Access tokens are short-lived: refresh and retry before giving up. A second retry covers
+        // adopting another tab's pair whose access token has expired since
+        if (retries < 2 && await refreshTokens(sent)) {
+            return apiCall(url, options, retries + 1);
+        }
+        clearSession();
         throw new Error('Unauthorized');
     }
     